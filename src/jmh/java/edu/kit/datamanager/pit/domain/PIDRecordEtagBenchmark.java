@@ -0,0 +1,93 @@
+package edu.kit.datamanager.pit.domain;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Time to calculate the etag of a record and to compare records, for records
+ * with many values.
+ *
+ * - "hashSimpleEntries": the previous etag, a hash of a fresh set of all pairs
+ * - "etagCached": the etag of an unmodified record, e.g. when it is checked and
+ *   then returned within one request
+ * - "etagAfterRead": the etag after reading the entries, e.g. for validation
+ * - "etagModified": the etag after a modification, which computes the digest
+ * - "equalSimpleEntries": the previous comparison of two equal records
+ * - "equalRecords": comparing two modified, equal records
+ * - "equalRecordsCached": comparing two unmodified records with etags
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PIDRecordEtagBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int values;
+
+    private PIDRecord pidRecord;
+    private PIDRecord copy;
+
+    @Setup
+    public void setup() {
+        pidRecord = build();
+        copy = build();
+    }
+
+    private PIDRecord build() {
+        PIDRecord result = new PIDRecord().withPID("21.11152/record");
+        for (int i = 0; i < values; i++) {
+            // a few attributes with many values each, like hasMetadata or contact
+            result.addEntry("21.T11148/attribute-" + (i % 10), "https://test.repo/file-" + i);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String hashSimpleEntries() {
+        return Integer.toString(Objects.hash(pidRecord.getPid(), pidRecord.getSimpleEntries()));
+    }
+
+    @Benchmark
+    public String etagCached() {
+        return pidRecord.getEtag();
+    }
+
+    @Benchmark
+    public String etagAfterRead() {
+        pidRecord.getEntries();
+        return pidRecord.getEtag();
+    }
+
+    @Benchmark
+    public String etagModified() {
+        pidRecord.setPid(pidRecord.getPid());
+        return pidRecord.getEtag();
+    }
+
+    @Benchmark
+    public boolean equalSimpleEntries() {
+        return pidRecord.getSimpleEntries().equals(copy.getSimpleEntries());
+    }
+
+    @Benchmark
+    public boolean equalRecords() {
+        copy.setPid(copy.getPid());
+        return pidRecord.equals(copy);
+    }
+
+    @Benchmark
+    public boolean equalRecordsCached() {
+        pidRecord.getEtag();
+        copy.getEtag();
+        return pidRecord.equals(copy);
+    }
+}
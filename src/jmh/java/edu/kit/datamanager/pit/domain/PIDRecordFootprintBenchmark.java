@@ -0,0 +1,72 @@
+package edu.kit.datamanager.pit.domain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Memory per record and time to build a record, for records resembling the
+ * Helmholtz kernel information profile (21.T11148/301c6f04763a16f0f72a).
+ *
+ * The retained size per record is measured with JOL over many records, so
+ * instances shared by all records are amortized, and printed once per fork.
+ * Keys are copied for each record, like when records are read from JSON or
+ * the database. Run it with `./gradlew jmh -PjmhIncludes=PIDRecordFootprintBenchmark`
+ * and add `-prof gc` to the JMH arguments to see the allocations per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PIDRecordFootprintBenchmark {
+
+    static final int RECORDS = 10_000;
+
+    static final String[][] ATTRIBUTES = {
+        {"21.T11148/076759916209e5d62bd5", "kernelInformationProfile", "21.T11148/301c6f04763a16f0f72a"},
+        {"21.T11148/1c699a5d1b4ad3ba4956", "digitalObjectType", "21.T11148/ManuscriptPage"},
+        {"21.T11148/b8457812905b83046284", "digitalObjectLocation", "https://test.repo/file"},
+        {"21.T11148/aafd5fb4c7222e2d950a", "dateCreated", "2021-12-21T17:36:09.541+00:00"},
+        {"21.T11148/397d831aa3a9d18eb52c", "dateModified", "2021-12-21T17:36:09.541+00:00"},
+        {"21.T11148/8074aed799118ac263ad", "digitalObjectPolicy", "21.T11148/37d0f4689c6ea3301787"},
+        {"21.T11148/92e200311a56800b3e47", "etag",
+            "{ \"sha256sum\": \"sha256 c50624fd5ddd2b9652b72e2d2eabcb31a54b777718ab6fb7e44b582c20239a7c\" }"},
+        {"21.T11148/c692273deb2772da307f", "version", "1.0.0"},
+        {"21.T11148/d0773859091aeb451528", "hasMetadata", "21.11152/metadata"},
+    };
+
+    private int next = 0;
+
+    static PIDRecord kernelRecord(int index) {
+        PIDRecord pidRecord = new PIDRecord().withPID("21.11152/record-" + index);
+        for (String[] attribute : ATTRIBUTES) {
+            String value = attribute[0].equals("21.T11148/b8457812905b83046284")
+                    ? attribute[2] + index
+                    : attribute[2];
+            pidRecord.addEntry(new String(attribute[0]), new String(attribute[1]), value);
+        }
+        return pidRecord;
+    }
+
+    @Setup(Level.Trial)
+    public void printFootprint() {
+        PIDRecord[] records = new PIDRecord[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            records[i] = kernelRecord(i);
+        }
+        long bytes = GraphLayout.parseInstance((Object[]) records).totalSize();
+        System.out.printf("%nRetained size per record (%d attributes): %d bytes%n", ATTRIBUTES.length, bytes / RECORDS);
+    }
+
+    @Benchmark
+    public PIDRecord buildRecord() {
+        return kernelRecord(next++);
+    }
+}
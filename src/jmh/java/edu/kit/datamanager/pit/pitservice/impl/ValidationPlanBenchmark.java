@@ -0,0 +1,146 @@
+package edu.kit.datamanager.pit.pitservice.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.kit.datamanager.pit.common.RecordValidationException;
+import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.PropertyBinding;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.typeregistry.schema.EveritSchemaEngine;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaCompiler;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaEngine;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaPool;
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationMemo;
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationProfiler;
+import edu.kit.datamanager.pit.typeregistry.schema.ValueValidator;
+import edu.kit.datamanager.pit.util.TypeValidationUtils;
+
+/**
+ * Records per second validated against the kernel information profile, using
+ * the previous per-record profile walk ("walkProfile"), a compiled
+ * `ValidationPlan` ("compiledPlan", EMBEDDED_STRICT) and the JSON schema of the
+ * profile for the whole record ("recordSchema", EMBEDDED_SCHEMA).
+ *
+ * "walkProfile" reproduces the previous
+ * `EmbeddedStrictValidatorStrategy.strictProfileValidation`: mandatory
+ * attributes via `getMissingMandatoryTypesOf`, a lookup in the sub-types of
+ * the profile per attribute, values copied by `getPropertyValues`, and each
+ * value validated by the schema engine only, as types did before (no
+ * `FastPathValidators`, `ValidationMemo` or `ValidationProfiler`).
+ *
+ * The profile is built offline and resembles the Helmholtz kernel information
+ * profile (21.T11148/301c6f04763a16f0f72a), so no type registry is required.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ValidationPlanBenchmark {
+
+    static final String HANDLE = "{\"type\": \"string\", \"pattern\": \"^([0-9,A-Z,a-z])+(\\\\.([0-9,A-Z,a-z])+)*\\\\/([!-~])+$\"}";
+    static final String DATE = "{\"type\": \"string\", \"format\": \"date-time\"}";
+    static final String URL = "{\"type\": \"string\", \"format\": \"uri\"}";
+    static final String TEXT = "{\"type\": \"string\"}";
+    static final String CHECKSUM = "{\"type\": \"object\", \"properties\": {\"sha256sum\": {\"type\": \"string\", "
+            + "\"pattern\": \"^sha256 [0-9a-f]{64}$\"}}, \"required\": [\"sha256sum\"]}";
+
+    private final SchemaEngine engine = new EveritSchemaEngine(new SchemaPool());
+    private final SchemaCompiler compiler = new SchemaCompiler(
+            engine, new ValidationMemo(100_000), new ValidationProfiler());
+    private final Map<String, TypeDefinition> types = new HashMap<>();
+    private TypeDefinition.TypeDefinitionBuilder profileBuilder;
+    private final List<String> schemaProperties = new ArrayList<>();
+    private final List<String> required = new ArrayList<>();
+
+    private TypeDefinition profile;
+    /**
+     * Stands in for the previous `profile.getSubTypes()`, which returned a map
+     * held by the profile. Its types validated values with the engine only.
+     */
+    private final Map<String, ValueValidator> subTypes = new HashMap<>();
+    private ValidationPlan plan;
+    private RecordSchema recordSchema;
+    private PIDRecord pidRecord;
+
+    @Setup
+    public void setup() {
+        profileBuilder = TypeDefinition.builder().identifier("21.T11148/301c6f04763a16f0f72a");
+        attribute("21.T11148/076759916209e5d62bd5", "kernelInformationProfile", HANDLE, false);
+        attribute("21.T11148/c83481d4bf467110e7c9", "digitalObjectType", HANDLE, false);
+        attribute("21.T11148/b8457812905b83046284", "digitalObjectLocation", URL, false);
+        attribute("21.T11148/aafd5fb4c7222e2d950a", "dateCreated", DATE, false);
+        attribute("21.T11148/8074aed799118ac263ad", "digitalObjectPolicy", HANDLE, false);
+        attribute("21.T11148/397d831aa3a9d18eb52c", "dateModified", DATE, true);
+        attribute("21.T11148/92e200311a56800b3e47", "etag", CHECKSUM, true);
+        attribute("21.T11148/c692273deb2772da307f", "version", TEXT, true);
+        attribute("21.T11148/1a73af9e7ae00182733b", "contact", HANDLE, true);
+        attribute("21.T11148/d0773859091aeb451528", "hasMetadata", HANDLE, true);
+        profile = profileBuilder
+                .schema(compiler.compile("{\"type\": \"object\", \"properties\": {" + String.join(", ", schemaProperties) + "}, "
+                        + "\"required\": [" + String.join(", ", required) + "], \"additionalProperties\": false}"))
+                .build();
+        plan = ValidationPlan.compile(profile);
+        recordSchema = RecordSchema.compile(profile, engine).orElseThrow();
+
+        pidRecord = new PIDRecord().withPID("unregistered-18622");
+        pidRecord.addEntry("21.T11148/076759916209e5d62bd5", "21.T11148/301c6f04763a16f0f72a");
+        pidRecord.addEntry("21.T11148/397d831aa3a9d18eb52c", "2021-12-21T17:36:09.541+00:00");
+        pidRecord.addEntry("21.T11148/8074aed799118ac263ad", "21.T11148/37d0f4689c6ea3301787");
+        pidRecord.addEntry("21.T11148/92e200311a56800b3e47",
+                "{ \"sha256sum\": \"sha256 c50624fd5ddd2b9652b72e2d2eabcb31a54b777718ab6fb7e44b582c20239a7c\" }");
+        pidRecord.addEntry("21.T11148/aafd5fb4c7222e2d950a", "2021-12-21T17:36:09.541+00:00");
+        pidRecord.addEntry("21.T11148/b8457812905b83046284", "https://test.repo/file001");
+        pidRecord.addEntry("21.T11148/c692273deb2772da307f", "1.0.0");
+        pidRecord.addEntry("21.T11148/c83481d4bf467110e7c9", "21.T11148/ManuscriptPage");
+    }
+
+    private void attribute(String identifier, String name, String schema, boolean optional) {
+        types.put(identifier, TypeDefinition.builder().identifier(identifier).name(name).schema(compiler.compile(schema)).build());
+        subTypes.put(identifier, engine.compile(schema));
+        profileBuilder.property(identifier, new PropertyBinding(name, identifier, optional, false, null, null, types));
+        schemaProperties.add("\"" + name + "\": " + schema);
+        if (!optional) {
+            required.add("\"" + name + "\"");
+        }
+    }
+
+    @Benchmark
+    public PIDRecord walkProfile() throws RecordValidationException {
+        TypeValidationUtils.checkMandatoryAttributes(pidRecord, profile);
+        for (String attributeKey : pidRecord.getPropertyIdentifiers()) {
+            ValueValidator type = subTypes.get(attributeKey);
+            if (type == null) {
+                throw new RecordValidationException(pidRecord, "Attribute not allowed: " + attributeKey);
+            }
+            for (String value : pidRecord.getPropertyValues(attributeKey)) {
+                if (value == null || !type.isValid(value)) {
+                    throw new RecordValidationException(pidRecord, "Invalid value: " + value);
+                }
+            }
+        }
+        return pidRecord;
+    }
+
+    @Benchmark
+    public PIDRecord compiledPlan() throws RecordValidationException {
+        plan.validate(pidRecord);
+        return pidRecord;
+    }
+
+    @Benchmark
+    public PIDRecord recordSchema() throws RecordValidationException {
+        recordSchema.validate(pidRecord);
+        return pidRecord;
+    }
+}
@@ -0,0 +1,92 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Values per second validated by each schema engine, for schemas as the data
+ * type registry (dtr-test.pidconsortium.eu) generates them. Run it with
+ * `./gradlew jmh -PjmhIncludes=SchemaEngineBenchmark`.
+ *
+ * The fast path for simple schemas (see `FastPathValidators`) is not involved,
+ * so this compares the engines only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SchemaEngineBenchmark {
+
+    /**
+     * Schemas of registered types, with a valid and an invalid value each.
+     */
+    static final Map<String, String[]> SCHEMAS = Map.of(
+            // Handle-Identifier-ASCII (21.T11148/3626040cadcac1571685)
+            "handle", new String[] {
+                "{\"definitions\": {\"21.T11148_3626040cadcac1571685\": {\"pattern\": "
+                        + "\"^([0-9,A-Z,a-z])+(\\\\.([0-9,A-Z,a-z])+)*\\\\/([!-~])+$\", \"type\": \"string\", "
+                        + "\"description\": \"Handle-Identifier-ASCII@21.T11148/3626040cadcac1571685\"}}, "
+                        + "\"$schema\": \"http://json-schema.org/draft-04/schema#\", "
+                        + "\"description\": \"digitalObjectType@21.T11148/1c699a5d1b4ad3ba4956\", "
+                        + "\"$ref\": \"#/definitions/21.T11148_3626040cadcac1571685\"}",
+                "21.T11148/ManuscriptPage",
+                "ManuscriptPage"
+            },
+            // dateCreated (21.T11148/aafd5fb4c7222e2d950a)
+            "dateTime", new String[] {
+                "{\"definitions\": {\"21.T11148_aafd5fb4c7222e2d950a\": {\"type\": \"string\", \"format\": \"date-time\", "
+                        + "\"description\": \"dateCreated@21.T11148/aafd5fb4c7222e2d950a\"}}, "
+                        + "\"$schema\": \"http://json-schema.org/draft-04/schema#\", "
+                        + "\"$ref\": \"#/definitions/21.T11148_aafd5fb4c7222e2d950a\"}",
+                "2021-12-21T17:36:09.541+00:00",
+                "21.12.2021"
+            },
+            // checksum (21.T11148/92e200311a56800b3e47)
+            "checksum", new String[] {
+                "{\"$schema\": \"http://json-schema.org/draft-04/schema#\", \"type\": \"object\", "
+                        + "\"properties\": {\"sha256sum\": {\"type\": \"string\", \"pattern\": \"^sha256 [0-9a-f]{64}$\"}, "
+                        + "\"md5sum\": {\"type\": \"string\", \"pattern\": \"^md5 [0-9a-f]{32}$\"}}, "
+                        + "\"additionalProperties\": false}",
+                "{ \"sha256sum\": \"sha256 c50624fd5ddd2b9652b72e2d2eabcb31a54b777718ab6fb7e44b582c20239a7c\" }",
+                "{ \"sha256sum\": \"c50624fd5ddd2b9652b72e2d2eabcb31\" }"
+            });
+
+    @Param({EveritSchemaEngine.NAME, NetworkntSchemaEngine.NAME})
+    public String engine;
+
+    @Param({"handle", "dateTime", "checksum"})
+    public String schema;
+
+    private ValueValidator validator;
+    private String validValue;
+    private String invalidValue;
+
+    @Setup
+    public void setup() {
+        String[] testCase = SCHEMAS.get(schema);
+        validator = SchemaEngines.create(engine, new SchemaPool()).compile(testCase[0]);
+        validValue = testCase[1];
+        invalidValue = testCase[2];
+        if (!validator.isValid(validValue) || validator.isValid(invalidValue)) {
+            throw new IllegalStateException("Engine " + engine + " disagrees on schema " + schema);
+        }
+    }
+
+    @Benchmark
+    public boolean validValue() {
+        return validator.isValid(validValue);
+    }
+
+    @Benchmark
+    public boolean invalidValue() {
+        return validator.isValid(invalidValue);
+    }
+}
@@ -20,8 +20,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalNotification;
 
 import edu.kit.datamanager.pit.cli.CliTaskBootstrap;
@@ -30,25 +30,48 @@ import edu.kit.datamanager.pit.cli.ICliTask;
 import edu.kit.datamanager.pit.cli.PidSource;
 import edu.kit.datamanager.pit.common.InvalidConfigException;
 import edu.kit.datamanager.pit.configuration.ApplicationProperties;
+import edu.kit.datamanager.pit.domain.DateTypeIndex;
 import edu.kit.datamanager.pit.domain.PIDRecord;
 import edu.kit.datamanager.pit.domain.TypeDefinition;
 import edu.kit.datamanager.pit.pidsystem.IIdentifierSystem;
 import edu.kit.datamanager.pit.pitservice.ITypingService;
 import edu.kit.datamanager.pit.pitservice.impl.TypingService;
 import edu.kit.datamanager.pit.typeregistry.ITypeRegistry;
+import edu.kit.datamanager.pit.typeregistry.impl.SharedTypeCache;
+import edu.kit.datamanager.pit.typeregistry.impl.SharedTypeDefinitionDao;
+import edu.kit.datamanager.pit.typeregistry.impl.TypeCacheWarmup;
+import edu.kit.datamanager.pit.typeregistry.impl.TypeDefinitionLoader;
 import edu.kit.datamanager.pit.typeregistry.impl.TypeRegistry;
+import edu.kit.datamanager.pit.typeregistry.impl.TypeSnapshotStore;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaCompiler;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaEngine;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaEngines;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaPool;
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationMemo;
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationProfiler;
+import edu.kit.datamanager.pit.web.ValidationProfileEndpoint;
 import edu.kit.datamanager.pit.web.converter.SimplePidRecordConverter;
+import edu.kit.datamanager.pit.web.impl.BatchValidator;
 import edu.kit.datamanager.security.filter.KeycloakJwtProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
-import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.cache.CacheConfig;
 import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -106,8 +129,27 @@ public class Application {
     }
 
     @Bean
-    public ITypingService typingService(IIdentifierSystem identifierSystem, ApplicationProperties props) {
-        return new TypingService(identifierSystem, typeRegistry(), typeLoader(props));
+    public ITypingService typingService(
+            IIdentifierSystem identifierSystem,
+            LoadingCache<String, TypeDefinition> typeLoader,
+            DateTypeIndex dateTypeIndex) {
+        return new TypingService(identifierSystem, typeRegistry(), typeLoader, dateTypeIndex);
+    }
+
+    /**
+     * Validates batches of records for the REST interface.
+     * 
+     * @param typingService the service validating each record.
+     * @param mapper        reads records and writes results.
+     * @param props         the applications properties.
+     * @return the batch validator.
+     */
+    @Bean
+    public BatchValidator batchValidator(
+            ITypingService typingService,
+            ObjectMapper mapper,
+            ApplicationProperties props) {
+        return new BatchValidator(typingService, mapper, props.getBatchValidationParallelism());
     }
 
     @Bean(name = "OBJECT_MAPPER_BEAN")
@@ -119,11 +161,39 @@ public class Application {
                 .build();
     }
 
+    /**
+     * HTTP client for requests to the type registry.
+     * 
+     * Connections are pooled and kept alive for reuse. Responses are cached
+     * according to their HTTP caching headers.
+     * 
+     * @param props the applications properties.
+     * @return the HTTP client.
+     */
     @Bean
-    public HttpClient httpClient() {
+    public CloseableHttpClient httpClient(ApplicationProperties props) {
+        PoolingHttpClientConnectionManager connections = new PoolingHttpClientConnectionManager();
+        connections.setMaxTotal(props.getHttpMaxConnections());
+        connections.setDefaultMaxPerRoute(props.getHttpMaxConnectionsPerRoute());
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(props.getHttpConnectTimeout())
+                .setSocketTimeout(props.getHttpSocketTimeout())
+                .setConnectionRequestTimeout(props.getHttpConnectionRequestTimeout())
+                .build();
+        long maxKeepAlive = TimeUnit.SECONDS.toMillis(props.getHttpKeepAlive());
         return CachingHttpClientBuilder
                 .create()
                 .setCacheConfig(cacheConfig())
+                .setConnectionManager(connections)
+                .setDefaultRequestConfig(requestConfig)
+                // respect the servers keep-alive hint, but do not exceed our maximum
+                .setKeepAliveStrategy((response, context) -> {
+                    long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? Math.min(keepAlive, maxKeepAlive) : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(props.getHttpKeepAlive(), TimeUnit.SECONDS)
                 .build();
     }
 
@@ -139,33 +209,231 @@ public class Application {
                 .build();
     }
 
+    /**
+     * Loads type definitions into the `typeLoader` cache and refreshes them
+     * asynchronously.
+     * 
+     * @param props         the applications properties.
+     * @param meterRegistry registry to report load and refresh metrics to.
+     * @return the loader used by the `typeLoader` cache.
+     */
+    @Bean
+    public TypeDefinitionLoader typeDefinitionLoader(ApplicationProperties props, MeterRegistry meterRegistry) {
+        return new TypeDefinitionLoader(
+                this::typeRegistry,
+                props.getRefreshThreads(),
+                props.getMaximumSize(),
+                props.getNegativeCacheSize(),
+                props.getNegativeCacheLifetime(),
+                props.getSlowestLoads(),
+                meterRegistry);
+    }
+
+    /**
+     * Index of the cached types containing a date. Filled by the type registry
+     * and emptied by the type cache.
+     * 
+     * @return the index.
+     */
+    @Bean
+    public DateTypeIndex dateTypeIndex() {
+        return new DateTypeIndex();
+    }
+
+    /**
+     * Stores fetched type definitions on disk for warm restarts. Disabled, if no
+     * path is configured.
+     * 
+     * @param props the applications properties.
+     * @return the snapshot store.
+     */
+    @Bean
+    public TypeSnapshotStore typeSnapshotStore(ApplicationProperties props) {
+        String path = props.getSnapshotPath();
+        return new TypeSnapshotStore(path == null || path.isBlank() ? null : Path.of(path));
+    }
+
+    /**
+     * Shares fetched type definitions between all instances of this service
+     * using the database. Disabled, unless configured otherwise.
+     * 
+     * @param props         the applications properties.
+     * @param dao           access to the shared definitions.
+     * @param meterRegistry registry to report hits and misses to.
+     * @return the shared type cache.
+     */
+    @Bean
+    public SharedTypeCache sharedTypeCache(
+            ApplicationProperties props,
+            SharedTypeDefinitionDao dao,
+            MeterRegistry meterRegistry) {
+        return new SharedTypeCache(
+                props.isSharedCacheEnabled() ? dao : null,
+                Duration.ofMinutes(props.getExpireAfterWrite()),
+                meterRegistry);
+    }
+
+    /**
+     * The pool of compiled JSON schemas, used by the everit schema engine. Its
+     * metrics are bound as it is a `MeterBinder`.
+     * 
+     * @return the schema pool.
+     */
+    @Bean
+    public SchemaPool schemaPool() {
+        return new SchemaPool();
+    }
+
+    /**
+     * Selects the schema engine used to validate values against the schema of
+     * their type, and records against the schema of their profile.
+     * 
+     * @param props the applications properties.
+     * @param pool  the pool of compiled JSON schemas.
+     * @return the schema engine.
+     */
+    @Bean
+    public SchemaEngine schemaEngine(ApplicationProperties props, SchemaPool pool) {
+        SchemaEngine engine = SchemaEngines.create(props.getSchemaEngine(), pool);
+        LOG.info("Using schema engine {}.", engine.name());
+        return engine;
+    }
+
+    /**
+     * Compiles the schemas of type definitions with the selected engine.
+     * 
+     * @param engine   the schema engine.
+     * @param memo     the memo of validation outcomes.
+     * @param profiler the profiler recording the time spent per type.
+     * @return the schema compiler.
+     */
+    @Bean
+    public SchemaCompiler schemaCompiler(SchemaEngine engine, ValidationMemo memo, ValidationProfiler profiler) {
+        return new SchemaCompiler(engine, memo, profiler);
+    }
+
+    /**
+     * The memo of validation outcomes, which is shared by all type definitions.
+     * Its metrics are bound as it is a `MeterBinder`.
+     * 
+     * @param props the applications properties.
+     * @return the validation memo.
+     */
+    @Bean
+    public ValidationMemo validationMemo(ApplicationProperties props) {
+        return new ValidationMemo(props.getValidationMemoSize());
+    }
+
+    /**
+     * Accumulates the time spent validating each type and profile.
+     * 
+     * @param props the applications properties.
+     * @return the validation profiler.
+     */
+    @Bean
+    public ValidationProfiler validationProfiler(ApplicationProperties props) {
+        ValidationProfiler profiler = new ValidationProfiler();
+        profiler.setEnabled(props.isValidationProfilerEnabled());
+        return profiler;
+    }
+
+    /**
+     * Exposes the time spent validating each type and profile as actuator
+     * endpoint `validationprofile`.
+     * 
+     * @param profiler the validation profiler.
+     * @return the endpoint.
+     */
+    @Bean
+    public ValidationProfileEndpoint validationProfileEndpoint(ValidationProfiler profiler) {
+        return new ValidationProfileEndpoint(profiler);
+    }
+
+    /**
+     * Fills the type cache from snapshots and the configured warm-up types on
+     * startup. Readiness is reported only after the warm-up finished or timed
+     * out.
+     * 
+     * @param typeLoader    the type cache.
+     * @param snapshotStore the snapshots of previous runs.
+     * @param props         the applications properties.
+     * @return the warm-up runner.
+     */
+    @Bean
+    public TypeCacheWarmup typeCacheWarmup(
+            LoadingCache<String, TypeDefinition> typeLoader,
+            TypeSnapshotStore snapshotStore,
+            ApplicationProperties props) {
+        return new TypeCacheWarmup(
+                typeLoader,
+                snapshotStore,
+                props.getWarmupIdentifiers(),
+                Duration.ofSeconds(props.getWarmupTimeout()),
+                props.getMaxConcurrentRequests());
+    }
+
     /**
      * This loader is a cache, which will retrieve `TypeDefinition`s, if required.
      * 
      * Therefore, it can be used instead of the ITypeRegistry implementations.
      * Retrieve it using Autowire or from the application context.
      * 
-     * @param props the applications properties set by the administration at the
-     *              start of this application.
+     * If refresh-ahead is enabled, entries are reloaded asynchronously after their
+     * lifetime passed. Until the reload succeeded, the previous definition is still
+     * being served, but at most for the configured maximum staleness.
+     * 
+     * The cache statistics are reported as `cache.*` metrics with the tag
+     * `cache=typeDefinitions`, removed entries by their cause as
+     * `pit.typeregistry.cache.removals`.
+     * 
+     * @param props         the applications properties set by the administration
+     *                      at the start of this application.
+     * @param loader        the loader retrieving definitions from the type
+     *                      registry.
+     * @param meterRegistry registry to report cache metrics to.
+     * @param dateTypeIndex the index to remove types from, when they leave the
+     *                      cache.
      * @return the cache
      */
     @Bean
-    public LoadingCache<String, TypeDefinition> typeLoader(ApplicationProperties props) {
+    public LoadingCache<String, TypeDefinition> typeLoader(
+            ApplicationProperties props,
+            TypeDefinitionLoader loader,
+            MeterRegistry meterRegistry,
+            DateTypeIndex dateTypeIndex) {
         int maximumsize = props.getMaximumSize();
         long expireafterwrite = props.getExpireAfterWrite();
-        return CacheBuilder.newBuilder()
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
                 .maximumSize(maximumsize)
-                .expireAfterWrite(expireafterwrite, TimeUnit.MINUTES)
-                .removalListener((RemovalNotification<String, TypeDefinition> rn) -> LOG.trace(
-                        "Removing type definition located at {} from schema cache. Cause: {}", rn.getKey(),
-                        rn.getCause()))
-                .build(new CacheLoader<String, TypeDefinition>() {
-                    @Override
-                    public TypeDefinition load(String typeIdentifier) throws IOException, URISyntaxException {
-                        LOG.trace("Loading type definition for identifier {} to cache.", typeIdentifier);
-                        return typeRegistry().queryTypeDefinition(typeIdentifier);
+                .recordStats();
+        if (props.isRefreshAhead()) {
+            builder
+                    .refreshAfterWrite(expireafterwrite, TimeUnit.MINUTES)
+                    .expireAfterWrite(expireafterwrite + props.getMaxStaleness(), TimeUnit.MINUTES);
+        } else {
+            builder.expireAfterWrite(expireafterwrite, TimeUnit.MINUTES);
+        }
+        // registered up front, so removals only increment a counter
+        Map<RemovalCause, Counter> removals = new EnumMap<>(RemovalCause.class);
+        for (RemovalCause cause : RemovalCause.values()) {
+            removals.put(cause, Counter.builder("pit.typeregistry.cache.removals")
+                    .description("Type definitions removed from the type cache.")
+                    .tag("cause", cause.name())
+                    .register(meterRegistry));
+        }
+        LoadingCache<String, TypeDefinition> cache = builder
+                .removalListener((RemovalNotification<String, TypeDefinition> rn) -> {
+                    LOG.trace("Removing type definition located at {} from schema cache. Cause: {}", rn.getKey(),
+                            rn.getCause());
+                    removals.get(rn.getCause()).increment();
+                    // replacing definitions were indexed when they were loaded
+                    if (rn.getCause() != RemovalCause.REPLACED) {
+                        dateTypeIndex.remove(rn.getKey());
                     }
-                });
+                })
+                .build(loader);
+        GuavaCacheMetrics.monitor(meterRegistry, cache, "typeDefinitions");
+        return cache;
     }
 
     @ConfigurationProperties("pit")
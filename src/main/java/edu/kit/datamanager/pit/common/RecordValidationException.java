@@ -3,7 +3,11 @@ package edu.kit.datamanager.pit.common;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.Violation;
 
 /**
  * Indicates that a PID was given which could not be resolved to answer the
@@ -17,18 +21,38 @@ public class RecordValidationException extends ResponseStatusException {
 
 	// For cases in which the PID record shold be appended to the error response.
 	private final transient PIDRecord pidRecord;
+	// Every violation found, if validation did not stop at the first one.
+	private final transient List<Violation> violations;
 
 	public RecordValidationException(PIDRecord pidRecord) {
 		super(HTTP_STATUS, VALIDATION_OF_RECORD + pidRecord.getPid() + " failed.");
 		this.pidRecord = pidRecord;
+		this.violations = List.of();
 	}
 
 	public RecordValidationException(PIDRecord pidRecord, String reason) {
 		super(HTTP_STATUS, VALIDATION_OF_RECORD + pidRecord.getPid() + " failed. Reason:\n" + reason);
 		this.pidRecord = pidRecord;
+		this.violations = List.of();
+	}
+
+	public RecordValidationException(PIDRecord pidRecord, List<Violation> violations) {
+		super(HTTP_STATUS, VALIDATION_OF_RECORD + pidRecord.getPid() + " failed with "
+				+ violations.size() + " violation(s):\n"
+				+ violations.stream().map(Violation::getMessage).collect(Collectors.joining("\n")));
+		this.pidRecord = pidRecord;
+		this.violations = List.copyOf(violations);
 	}
 
 	public PIDRecord getPidRecord() {
 		return pidRecord;
 	}
+
+	/**
+	 * @return all violations found, or an empty list if validation stopped at the
+	 *         first violation (see the message in this case).
+	 */
+	public List<Violation> getViolations() {
+		return violations;
+	}
 }
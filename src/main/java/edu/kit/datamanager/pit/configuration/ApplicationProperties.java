@@ -18,9 +18,12 @@ package edu.kit.datamanager.pit.configuration;
 import edu.kit.datamanager.configuration.GenericApplicationProperties;
 import edu.kit.datamanager.pit.pitservice.IValidationStrategy;
 import edu.kit.datamanager.pit.pitservice.impl.EmbeddedStrictValidatorStrategy;
+import edu.kit.datamanager.pit.pitservice.impl.EmbeddedLenientValidatorStrategy;
+import edu.kit.datamanager.pit.pitservice.impl.EmbeddedSchemaValidatorStrategy;
 import edu.kit.datamanager.pit.pitservice.impl.NoValidationStrategy;
 
 import java.net.URL;
+import java.util.List;
 
 import jakarta.validation.constraints.NotNull;
 
@@ -58,6 +61,11 @@ public class ApplicationProperties extends GenericApplicationProperties {
 
   public enum ValidationStrategy {
     EMBEDDED_STRICT,
+    // Like EMBEDDED_STRICT, but uses the JSON schema of a profile, if available.
+    EMBEDDED_SCHEMA,
+    // Like EMBEDDED_STRICT, but allows attributes which are not in the profile,
+    // if they are valid according to their own type.
+    EMBEDDED_LENIENT,
     NONE_DEBUG;
   }
 
@@ -65,11 +73,24 @@ public class ApplicationProperties extends GenericApplicationProperties {
   @NotNull
   private ValidationStrategy validationStrategy = ValidationStrategy.EMBEDDED_STRICT;
 
+  @Value("${pit.validation.batch.parallelism:4}")
+  private int batchValidationParallelism;
+
+  @Value("${pit.validation.schemaEngine:everit}")
+  private String schemaEngine;
+
+  @Value("${pit.validation.profiler.enabled:true}")
+  private boolean validationProfilerEnabled;
+
   @Bean
   public IValidationStrategy defaultValidationStrategy() {
     IValidationStrategy defaultStrategy = new NoValidationStrategy();
     if (this.validationStrategy == ValidationStrategy.EMBEDDED_STRICT) {
       defaultStrategy = new EmbeddedStrictValidatorStrategy();
+    } else if (this.validationStrategy == ValidationStrategy.EMBEDDED_SCHEMA) {
+      defaultStrategy = new EmbeddedSchemaValidatorStrategy();
+    } else if (this.validationStrategy == ValidationStrategy.EMBEDDED_LENIENT) {
+      defaultStrategy = new EmbeddedLenientValidatorStrategy();
     }
     return defaultStrategy;
   }
@@ -107,6 +128,61 @@ public class ApplicationProperties extends GenericApplicationProperties {
   @Value("${pit.typeregistry.cache.lifetimeMinutes:10}")
   private long expireAfterWrite;
 
+  @Value("${pit.typeregistry.cache.refreshAhead:true}")
+  private boolean refreshAhead;
+
+  @Value("${pit.typeregistry.cache.maxStalenessMinutes:60}")
+  private long maxStaleness;
+
+  @Value("${pit.typeregistry.cache.refreshThreads:4}")
+  private int refreshThreads;
+
+  @Value("${pit.typeregistry.cache.negative.maxEntries:1000}")
+  private int negativeCacheSize;
+
+  @Value("${pit.typeregistry.cache.negative.lifetimeSeconds:60}")
+  private long negativeCacheLifetime;
+
+  @Value("${pit.typeregistry.cache.shared.enabled:false}")
+  private boolean sharedCacheEnabled;
+
+  @Value("${pit.typeregistry.cache.validationResults.maxEntries:100000}")
+  private long validationMemoSize;
+
+  @Value("${pit.typeregistry.maxConcurrentRequests:16}")
+  private int maxConcurrentRequests;
+
+  @Value("${pit.typeregistry.http.connectTimeoutMillis:5000}")
+  private int httpConnectTimeout;
+
+  @Value("${pit.typeregistry.http.socketTimeoutMillis:10000}")
+  private int httpSocketTimeout;
+
+  @Value("${pit.typeregistry.http.connectionRequestTimeoutMillis:5000}")
+  private int httpConnectionRequestTimeout;
+
+  @Value("${pit.typeregistry.http.maxConnections:50}")
+  private int httpMaxConnections;
+
+  @Value("${pit.typeregistry.http.maxConnectionsPerRoute:20}")
+  private int httpMaxConnectionsPerRoute;
+
+  @Value("${pit.typeregistry.http.keepAliveSeconds:30}")
+  private long httpKeepAlive;
+
+  @Value("${pit.typeregistry.snapshot.path:}")
+  private String snapshotPath;
+
+  @Value("#{${pit.typeregistry.warmup.identifiers:{}}}")
+  @NotNull
+  private List<String> warmupIdentifiers = List.of();
+
+  @Value("${pit.typeregistry.warmup.timeoutSeconds:60}")
+  private long warmupTimeout;
+
+  @Value("${pit.typeregistry.metrics.slowestLoads:10}")
+  private int slowestLoads;
+
   @Value("${pit.validation.profileKey:21.T11148/076759916209e5d62bd5}")
   private String profileKey;
 
@@ -150,6 +226,30 @@ public class ApplicationProperties extends GenericApplicationProperties {
     this.validationStrategy = strategy;
   }
 
+  public int getBatchValidationParallelism() {
+    return batchValidationParallelism;
+  }
+
+  public void setBatchValidationParallelism(int batchValidationParallelism) {
+    this.batchValidationParallelism = batchValidationParallelism;
+  }
+
+  public String getSchemaEngine() {
+    return schemaEngine;
+  }
+
+  public void setSchemaEngine(String schemaEngine) {
+    this.schemaEngine = schemaEngine;
+  }
+
+  public boolean isValidationProfilerEnabled() {
+    return validationProfilerEnabled;
+  }
+
+  public void setValidationProfilerEnabled(boolean validationProfilerEnabled) {
+    this.validationProfilerEnabled = validationProfilerEnabled;
+  }
+
   public int getMaximumSize() {
     return maximumSize;
   }
@@ -166,6 +266,150 @@ public class ApplicationProperties extends GenericApplicationProperties {
     this.expireAfterWrite = expireAfterWrite;
   }
 
+  public boolean isRefreshAhead() {
+    return refreshAhead;
+  }
+
+  public void setRefreshAhead(boolean refreshAhead) {
+    this.refreshAhead = refreshAhead;
+  }
+
+  public long getMaxStaleness() {
+    return maxStaleness;
+  }
+
+  public void setMaxStaleness(long maxStaleness) {
+    this.maxStaleness = maxStaleness;
+  }
+
+  public int getRefreshThreads() {
+    return refreshThreads;
+  }
+
+  public void setRefreshThreads(int refreshThreads) {
+    this.refreshThreads = refreshThreads;
+  }
+
+  public int getNegativeCacheSize() {
+    return negativeCacheSize;
+  }
+
+  public void setNegativeCacheSize(int negativeCacheSize) {
+    this.negativeCacheSize = negativeCacheSize;
+  }
+
+  public long getNegativeCacheLifetime() {
+    return negativeCacheLifetime;
+  }
+
+  public void setNegativeCacheLifetime(long negativeCacheLifetime) {
+    this.negativeCacheLifetime = negativeCacheLifetime;
+  }
+
+  public boolean isSharedCacheEnabled() {
+    return sharedCacheEnabled;
+  }
+
+  public void setSharedCacheEnabled(boolean sharedCacheEnabled) {
+    this.sharedCacheEnabled = sharedCacheEnabled;
+  }
+
+  public long getValidationMemoSize() {
+    return validationMemoSize;
+  }
+
+  public void setValidationMemoSize(long validationMemoSize) {
+    this.validationMemoSize = validationMemoSize;
+  }
+
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
+  public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+    this.maxConcurrentRequests = maxConcurrentRequests;
+  }
+
+  public int getHttpConnectTimeout() {
+    return httpConnectTimeout;
+  }
+
+  public void setHttpConnectTimeout(int httpConnectTimeout) {
+    this.httpConnectTimeout = httpConnectTimeout;
+  }
+
+  public int getHttpSocketTimeout() {
+    return httpSocketTimeout;
+  }
+
+  public void setHttpSocketTimeout(int httpSocketTimeout) {
+    this.httpSocketTimeout = httpSocketTimeout;
+  }
+
+  public int getHttpConnectionRequestTimeout() {
+    return httpConnectionRequestTimeout;
+  }
+
+  public void setHttpConnectionRequestTimeout(int httpConnectionRequestTimeout) {
+    this.httpConnectionRequestTimeout = httpConnectionRequestTimeout;
+  }
+
+  public int getHttpMaxConnections() {
+    return httpMaxConnections;
+  }
+
+  public void setHttpMaxConnections(int httpMaxConnections) {
+    this.httpMaxConnections = httpMaxConnections;
+  }
+
+  public int getHttpMaxConnectionsPerRoute() {
+    return httpMaxConnectionsPerRoute;
+  }
+
+  public void setHttpMaxConnectionsPerRoute(int httpMaxConnectionsPerRoute) {
+    this.httpMaxConnectionsPerRoute = httpMaxConnectionsPerRoute;
+  }
+
+  public long getHttpKeepAlive() {
+    return httpKeepAlive;
+  }
+
+  public void setHttpKeepAlive(long httpKeepAlive) {
+    this.httpKeepAlive = httpKeepAlive;
+  }
+
+  public String getSnapshotPath() {
+    return snapshotPath;
+  }
+
+  public void setSnapshotPath(String snapshotPath) {
+    this.snapshotPath = snapshotPath;
+  }
+
+  public List<String> getWarmupIdentifiers() {
+    return warmupIdentifiers;
+  }
+
+  public void setWarmupIdentifiers(List<String> warmupIdentifiers) {
+    this.warmupIdentifiers = warmupIdentifiers;
+  }
+
+  public long getWarmupTimeout() {
+    return warmupTimeout;
+  }
+
+  public void setWarmupTimeout(long warmupTimeout) {
+    this.warmupTimeout = warmupTimeout;
+  }
+
+  public int getSlowestLoads() {
+    return slowestLoads;
+  }
+
+  public void setSlowestLoads(int slowestLoads) {
+    this.slowestLoads = slowestLoads;
+  }
+
   public StorageStrategy getStorageStrategy() {
     return storageStrategy;
   }
@@ -0,0 +1,79 @@
+package edu.kit.datamanager.pit.domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the types containing a creation or modification date, recognized
+ * by their human readable name.
+ *
+ * Types are added when their definition is loaded into the type cache and
+ * removed when they leave it. This way, recognizing an attribute as date is a
+ * single map lookup (see `Operations`).
+ */
+public class DateTypeIndex {
+
+    public enum DateKind {
+        CREATED,
+        MODIFIED,
+        /**
+         * The type does not contain a date.
+         */
+        NONE
+    }
+
+    /**
+     * Human readable type names indicating a creation or modification date.
+     *
+     * This can be removed as soon as we have some default FAIR DO types new type
+     * definitions can refer to (e.g. "extend" them or declare the same meaning as
+     * the known types in `Operations`)
+     */
+    private static final Map<String, DateKind> DATE_TYPE_NAMES = Map.of(
+        "dateCreated", DateKind.CREATED,
+        "createdAt", DateKind.CREATED,
+        "creationDate", DateKind.CREATED,
+        "dateModified", DateKind.MODIFIED,
+        "lastModified", DateKind.MODIFIED,
+        "modificationDate", DateKind.MODIFIED
+    );
+
+    private final Map<String, DateKind> kinds = new ConcurrentHashMap<>();
+
+    /**
+     * Adds or updates a type in the index.
+     *
+     * @param type the loaded definition of the type.
+     * @return the kind of date the type contains.
+     */
+    public DateKind add(TypeDefinition type) {
+        DateKind kind = type.getName() == null
+                ? DateKind.NONE
+                : DATE_TYPE_NAMES.getOrDefault(type.getName(), DateKind.NONE);
+        kinds.put(type.getIdentifier(), kind);
+        return kind;
+    }
+
+    /**
+     * @param typeIdentifier the identifier of a type which is not cached anymore.
+     */
+    public void remove(String typeIdentifier) {
+        kinds.remove(typeIdentifier);
+    }
+
+    /**
+     * @param typeIdentifier the identifier of a type.
+     * @return the kind of date the type contains, or null if the type is not
+     *         indexed.
+     */
+    public DateKind get(String typeIdentifier) {
+        return kinds.get(typeIdentifier);
+    }
+
+    /**
+     * @return the amount of indexed types.
+     */
+    public int size() {
+        return kinds.size();
+    }
+}
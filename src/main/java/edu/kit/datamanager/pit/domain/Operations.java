@@ -1,184 +1,149 @@
 package edu.kit.datamanager.pit.domain;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Comparator;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
-import org.joda.time.DateTime;
-import org.joda.time.format.DateTimeFormatter;
-import org.joda.time.format.ISODateTimeFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import edu.kit.datamanager.pit.pitservice.ITypingService;
+import com.google.common.cache.LoadingCache;
+
+import edu.kit.datamanager.pit.domain.DateTypeIndex.DateKind;
 
 /**
  * Simple operations on PID records.
- * 
- * Caches results e.g. for type queries
+ *
+ * Uses the index of date types (see `DateTypeIndex`) to recognize attributes
+ * semantically as date. Types are indexed when they are loaded into the type
+ * cache. Types which are not cached are not recognized: they are never
+ * fetched here, nor is the PID system asked, so all operations consist of a
+ * few map lookups per attribute.
  */
 public class Operations {
 
-    private static final String[] KNOWN_DATE_CREATED = {
-        "21.T11148/29f92bd203dd3eaa5a1f",
-        "21.T11148/aafd5fb4c7222e2d950a"
-    };
+    private static final Logger LOG = LoggerFactory.getLogger(Operations.class);
+
+    /**
+     * Types known to contain a creation or modification date.
+     */
+    private static final Map<String, DateKind> KNOWN_DATE_TYPES = Map.of(
+        "21.T11148/29f92bd203dd3eaa5a1f", DateKind.CREATED,
+        "21.T11148/aafd5fb4c7222e2d950a", DateKind.CREATED,
+        "21.T11148/397d831aa3a9d18eb52c", DateKind.MODIFIED
+    );
 
-    private static final String[] KNOWN_DATE_MODIFIED = {
-        "21.T11148/397d831aa3a9d18eb52c"
-    };
+    /**
+     * Parses dates like "2021-12-21T17:36:09.541+00:00". Thread-safe.
+     */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
 
-    private ITypingService typingService;
+    private final LoadingCache<String, TypeDefinition> typeCache;
+    private final DateTypeIndex dateTypes;
 
-    public Operations(ITypingService typingService) {
-        this.typingService = typingService;
+    /**
+     * @param typeCache the cache to look up types in, which are not indexed yet.
+     * @param dateTypes the index of types containing a date.
+     */
+    public Operations(LoadingCache<String, TypeDefinition> typeCache, DateTypeIndex dateTypes) {
+        this.typeCache = typeCache;
+        this.dateTypes = dateTypes;
     }
 
     /**
      * Tries to get the date when a FAIR DO was created from a PID record.
-     * 
+     *
      * Strategy:
      * - try to get it from known "dateCreated" types
-     * - as a fallback, try to get it by its human readable name
-     * 
+     * - as a fallback, try to get it by the human readable name of the types
+     *
      * Semantic reasoning in some sense is planned but not yet supported.
-     * 
+     *
      * @param pidRecord the record to extract the information from.
-     * @return the date, if it could been extracted.
-     * @throws IOException on IO errors regarding resolving types.
+     * @return the earliest date, if it could been extracted.
      */
-    public Optional<Date> findDateCreated(PIDRecord pidRecord) throws IOException {
-        /* try known types */
-        List<String> knownDateTypes = Arrays.asList(Operations.KNOWN_DATE_CREATED);
-        Optional<Date> date = knownDateTypes
-            .stream()
-            .map(pidRecord::getPropertyValues)
-            .map(Arrays::asList)
-            .flatMap(List<String>::stream)
-            .map(this::extractDate)
-            .filter(Optional<Date>::isPresent)
-            .map(Optional<Date>::get)
-            .sorted(Comparator.comparingLong(Date::getTime))
-            .findFirst();
-        if (date.isPresent()) {
-            return date;
-        }
-
-        /* TODO try to find types extending or relating otherwise to known types
-         *      (currently not supported by our TypeDefinition) */
-        // we need to resolve types without streams to forward possible exceptions
-        Collection<TypeDefinition> types = new ArrayList<>();
-        for (String attributePid : pidRecord.getPropertyIdentifiers()) {
-            if (this.typingService.isIdentifierRegistered(attributePid)) {
-                TypeDefinition type = this.typingService.describeType(attributePid);
-                types.add(type);
-            }
-        }
-
-        /*
-         * as a last fallback, try find types with human readable names containing
-         * "dateCreated" or "createdAt" or "creationDate".
-         * 
-         * This can be removed as soon as we have some default FAIR DO types new type
-         * definitions can refer to (e.g. "extend" them or declare the same meaning as
-         * our known types, see above)
-         */
-        return types
-            .stream()
-            .filter(type -> 
-                type.getName().equals("dateCreated")
-                || type.getName().equals("createdAt")
-                || type.getName().equals("creationDate"))
-            .map(type -> pidRecord.getPropertyValues(type.getIdentifier()))
-            .map(Arrays::asList)
-            .flatMap(List<String>::stream)
-            .map(this::extractDate)
-            .filter(Optional<Date>::isPresent)
-            .map(Optional<Date>::get)
-            .sorted(Comparator.comparingLong(Date::getTime))
-            .findFirst();
+    public Optional<Date> findDateCreated(PIDRecord pidRecord) {
+        return findDate(pidRecord, DateKind.CREATED);
     }
 
     /**
      * Tries to get the date when a FAIR DO was modified from a PID record.
-     * 
+     *
      * Strategy:
      * - try to get it from known "dateModified" types
-     * - as a fallback, try to get it by its human readable name
-     * 
+     * - as a fallback, try to get it by the human readable name of the types
+     *
      * Semantic reasoning in some sense is planned but not yet supported.
-     * 
+     *
      * @param pidRecord the record to extract the information from.
-     * @return the date, if it could been extracted.
-     * @throws IOException on IO errors regarding resolving types.
+     * @return the earliest date, if it could been extracted.
      */
-    public Optional<Date> findDateModified(PIDRecord pidRecord) throws IOException {
-        /* try known types */
-        List<String> knownDateTypes = Arrays.asList(Operations.KNOWN_DATE_MODIFIED);
-        Optional<Date> date = knownDateTypes
-            .stream()
-            .map(pidRecord::getPropertyValues)
-            .map(Arrays::asList)
-            .flatMap(List<String>::stream)
-            .map(this::extractDate)
-            .filter(Optional<Date>::isPresent)
-            .map(Optional<Date>::get)
-            .sorted(Comparator.comparingLong(Date::getTime))
-            .findFirst();
-        if (date.isPresent()) {
-            return date;
-        }
+    public Optional<Date> findDateModified(PIDRecord pidRecord) {
+        return findDate(pidRecord, DateKind.MODIFIED);
+    }
 
-        /* TODO try to find types extending or relating otherwise to known types
-         *      (currently not supported by our TypeDefinition) */
-        // we need to resolve types without streams to forward possible exceptions
-        Collection<TypeDefinition> types = new ArrayList<>();
-        for (String attributePid : pidRecord.getPropertyIdentifiers()) {
-            if (this.typingService.isIdentifierRegistered(attributePid)) {
-                TypeDefinition type = this.typingService.describeType(attributePid);
-                types.add(type);
+    /* TODO try to find types extending or relating otherwise to known types
+     *      (currently not supported by our TypeDefinition) */
+    private Optional<Date> findDate(PIDRecord pidRecord, DateKind kind) {
+        Date known = null;
+        Date byName = null;
+        int start = 0;
+        while (start < pidRecord.valueCount()) {
+            String attributePid = pidRecord.keyAt(start);
+            int end = pidRecord.endOfAttribute(start);
+            DateKind knownKind = KNOWN_DATE_TYPES.get(attributePid);
+            if (knownKind != null) {
+                if (knownKind == kind) {
+                    known = earliest(known, pidRecord, start, end);
+                }
+            } else if (known == null && kind == kindByName(attributePid)) {
+                byName = earliest(byName, pidRecord, start, end);
             }
+            start = end;
+        }
+        return Optional.ofNullable(known != null ? known : byName);
+    }
+
+    private DateKind kindByName(String attributePid) {
+        DateKind kind = dateTypes.get(attributePid);
+        if (kind != null) {
+            return kind;
         }
+        TypeDefinition type = typeCache.getIfPresent(attributePid);
+        if (type == null) {
+            LOG.trace("Attribute {} is not recognized as date, as its type is not cached.", attributePid);
+            return DateKind.NONE;
+        }
+        return dateTypes.add(type);
+    }
 
-        /*
-         * as a last fallback, try find types with human readable names containing
-         * "dateModified" or "lastModified" or "modificationDate".
-         * 
-         * This can be removed as soon as we have some default FAIR DO types new type
-         * definitions can refer to (e.g. "extend" them or declare the same meaning as
-         * our known types, see above)
-         */
-        return types
-            .stream()
-            .filter(type -> 
-                type.getName().equals("dateModified")
-                || type.getName().equals("lastModified")
-                || type.getName().equals("modificationDate"))
-            .map(type -> pidRecord.getPropertyValues(type.getIdentifier()))
-            .map(Arrays::asList)
-            .flatMap(List<String>::stream)
-            .map(this::extractDate)
-            .filter(Optional<Date>::isPresent)
-            .map(Optional<Date>::get)
-            .sorted(Comparator.comparingLong(Date::getTime))
-            .findFirst();
+    private Date earliest(Date current, PIDRecord pidRecord, int start, int end) {
+        Date result = current;
+        for (int i = start; i < end; i++) {
+            Optional<Date> date = extractDate(pidRecord.valueAt(i));
+            if (date.isPresent() && (result == null || date.get().before(result))) {
+                result = date.get();
+            }
+        }
+        return result;
     }
 
     /**
      * Tries to extract a Date object from a String.
-     * 
+     *
      * @param dateString the date string to extract the date from.
      * @return the extracted Date object.
      */
     protected Optional<Date> extractDate(String dateString) {
-        DateTimeFormatter dateFormatter = ISODateTimeFormat.dateTime();
+        if (dateString == null) {
+            return Optional.empty();
+        }
         try {
-            DateTime dateTime = dateFormatter.parseDateTime(dateString);
-            return Optional.of(dateTime.toDate());
-        } catch (Exception e) {
+            return Optional.of(Date.from(OffsetDateTime.parse(dateString, DATE_FORMAT).toInstant()));
+        } catch (DateTimeParseException e) {
             return Optional.empty();
         }
     }
@@ -1,17 +1,29 @@
 package edu.kit.datamanager.pit.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 
 import edu.kit.datamanager.entities.EtagSupport;
 import edu.kit.datamanager.pit.pidsystem.impl.local.PidDatabaseObject;
 
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -21,12 +33,69 @@ import java.util.Set;
  * While other representations exist, they are only used for easier database
  * communication or representation for the outside. In contrast, this is the
  * internal representation offering methods for manipulation.
+ * <p>
+ * Many records are held in memory at once (e.g. in caches or bulk operations),
+ * while the same few hundred attribute keys (type PIDs) and names repeat in all
+ * of them. Therefore, records share a single instance of each key and name
+ * (see `SHARED_STRINGS`), and all entries of a record are stored in a single
+ * flat array, sorted by key (see `flatEntries`). Frequent readers like the
+ * validation go through the values by index (see `valueCount`) instead of
+ * the map of entries.
+ * <p>
+ * The content is compared using a SHA-256 digest (see `getEtag`), which is
+ * computed on first use and dropped on modification. The entries handed out
+ * (see `getEntries`) are views of the record, so modifying them modifies the
+ * record and drops the digest as well.
  */
 public class PIDRecord implements EtagSupport {
 
+    /**
+     * The keys and names of attributes, shared by all records. Weak, so keys no
+     * longer used by any record are removed.
+     */
+    private static final Interner<String> SHARED_STRINGS = Interners.newWeakInterner();
+
+    /**
+     * A shared key and the shared name it was added with.
+     */
+    private record SharedAttribute(String key, String name) {}
+
+    /**
+     * The attributes added most recently, by their key (see `slotOf`). A key is
+     * usually added with the same name, so looking both up here is cheaper than
+     * in `SHARED_STRINGS`. Races only cause additional lookups in
+     * `SHARED_STRINGS`.
+     */
+    private static final SharedAttribute[] RECENTLY_SHARED = new SharedAttribute[1024];
+
     private String pid = "";
 
-    private Map<String, List<PIDRecordEntry>> entries = new HashMap<>();
+    private static final String[] NO_ENTRIES = new String[0];
+    private static final int FIELDS = 3;
+    private static final int KEY = 0;
+    private static final int NAME = 1;
+    private static final int VALUE = 2;
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Key, name and value of each entry, as consecutive elements. Entries are
+     * sorted by key. Entries with the same key keep the order they were added
+     * in. Only the first `entryCount` entries are used.
+     */
+    private String[] flatEntries = NO_ENTRIES;
+
+    private int entryCount = 0;
+
+    /**
+     * The digest of the PID and entries, or null if it needs to be (re)computed.
+     * Must be reset by all methods which modify the PID or entries.
+     */
+    private HashCode contentDigest = null;
+
+    /**
+     * The entries as a map (see `getEntries`), created on first use.
+     */
+    private EntriesView entriesView = null;
 
     /**
      * Creates an empty record without PID.
@@ -46,7 +115,6 @@ public class PIDRecord implements EtagSupport {
     }
 
     public PIDRecord(SimplePidRecord rec) {
-        this.entries = new HashMap<>();
         for (SimplePair pair : rec.getPairs()) {
             this.addEntry(pair.getKey(), "", pair.getValue());
         }
@@ -69,25 +137,104 @@ public class PIDRecord implements EtagSupport {
 
     public void setPid(String pid) {
         this.pid = pid;
+        this.contentDigest = null;
     }
 
+    /**
+     * Returns the entries by key, sorted by key. The map, its lists and their
+     * entries are views of this record: modifying them modifies the record. An
+     * entry added to a list gets the key of the list. A key without values is
+     * removed from the map.
+     * <p>
+     * Each call of `get` or each iteration creates new lists and entries. To
+     * read many records, prefer the values by index (see `valueCount`).
+     *
+     * @return the entries by key.
+     */
     public Map<String, List<PIDRecordEntry>> getEntries() {
-        return entries;
+        EntriesView view = this.entriesView;
+        if (view == null) {
+            view = new EntriesView();
+            this.entriesView = view;
+        }
+        return view;
     }
 
     @JsonIgnore
     public Set<SimplePair> getSimpleEntries() {
-        return this.entries
-                .entrySet()
-                .stream()
-                .flatMap(
-                        entry -> entry.getValue().stream()
-                                .map(complexPair -> new SimplePair(complexPair.getKey(), complexPair.getValue())))
-                .collect(Collectors.toSet());
+        Set<SimplePair> pairs = new HashSet<>();
+        for (int i = 0; i < entryCount; i++) {
+            pairs.add(new SimplePair(keyAt(i), valueAt(i)));
+        }
+        return pairs;
     }
 
+    /**
+     * Replaces all entries by copies of the given ones. Keys and names are
+     * replaced by their shared instances. The given entries are not modified.
+     * The key of each entry is the key it is listed under.
+     * 
+     * @param entries the new entries by key.
+     */
     public void setEntries(Map<String, List<PIDRecordEntry>> entries) {
-        this.entries = entries;
+        if (entries == this.entriesView) {
+            return;
+        }
+        String[] keys = entries.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        int count = 0;
+        for (List<PIDRecordEntry> values : entries.values()) {
+            count += values.size();
+        }
+        this.flatEntries = count == 0 ? NO_ENTRIES : new String[count * FIELDS];
+        this.entryCount = 0;
+        // appending in the order of keys keeps the entries sorted
+        for (String key : keys) {
+            for (PIDRecordEntry entry : entries.get(key)) {
+                SharedAttribute attribute = share(key, entry.getName());
+                set(entryCount++, attribute.key(), attribute.name(), entry.getValue());
+            }
+        }
+        this.contentDigest = null;
+    }
+
+    /**
+     * @param key  the key of an attribute.
+     * @param name the name of the attribute, may be null.
+     * @return the shared instances of the key and name.
+     */
+    private static SharedAttribute share(String key, String name) {
+        int slot = slotOf(key);
+        SharedAttribute recent = RECENTLY_SHARED[slot];
+        boolean isRecentKey = recent != null && key.equals(recent.key());
+        if (isRecentKey && Objects.equals(name, recent.name())) {
+            return recent;
+        }
+        SharedAttribute shared = new SharedAttribute(
+                isRecentKey ? recent.key() : SHARED_STRINGS.intern(key),
+                name == null ? null : SHARED_STRINGS.intern(name));
+        RECENTLY_SHARED[slot] = shared;
+        return shared;
+    }
+
+    /**
+     * Keys read from the database or a PID system are new strings, so their hash
+     * would have to be computed for each record. Keys are mostly type PIDs, which
+     * differ in their last characters, so these are used instead.
+     */
+    private static int slotOf(String key) {
+        int length = key.length();
+        int slot = length;
+        if (length > 0) {
+            slot = 31 * slot + key.charAt(length - 1);
+        }
+        if (length > 1) {
+            slot = 31 * slot + key.charAt(length - 2);
+        }
+        if (length > 2) {
+            slot = 31 * slot + key.charAt(length / 2);
+        }
+        return (slot ^ (slot >>> 10)) & (RECENTLY_SHARED.length - 1);
     }
 
     public void addEntry(String propertyIdentifier, String propertyValue) {
@@ -105,14 +252,35 @@ public class PIDRecord implements EtagSupport {
         if (propertyIdentifier.isEmpty()) {
             throw new IllegalArgumentException("The identifier of a property may not be empty!");
         }
-        PIDRecordEntry entry = new PIDRecordEntry();
-        entry.setKey(propertyIdentifier);
-        entry.setName(propertyName);
-        entry.setValue(propertyValue);
+        insert(endOfKey(propertyIdentifier), propertyIdentifier, propertyName, propertyValue);
+    }
+
+    /**
+     * Inserts an entry at the given index, which must keep the entries sorted.
+     */
+    private void insert(int index, String key, String name, String value) {
+        SharedAttribute attribute = share(key, name);
+        if (entryCount * FIELDS == flatEntries.length) {
+            int capacity = entryCount < INITIAL_CAPACITY ? INITIAL_CAPACITY : entryCount + (entryCount >> 1);
+            flatEntries = Arrays.copyOf(flatEntries, capacity * FIELDS);
+        }
+        System.arraycopy(
+                flatEntries, index * FIELDS,
+                flatEntries, (index + 1) * FIELDS,
+                (entryCount - index) * FIELDS);
+        set(index, attribute.key(), attribute.name(), value);
+        entryCount++;
+        this.contentDigest = null;
+    }
 
-        this.entries
-            .computeIfAbsent(propertyIdentifier, key -> new ArrayList<>())
-            .add(entry);
+    /**
+     * Removes the entries from index `start` (inclusive) to `end` (exclusive).
+     */
+    private void removeRange(int start, int end) {
+        System.arraycopy(flatEntries, end * FIELDS, flatEntries, start * FIELDS, (entryCount - end) * FIELDS);
+        Arrays.fill(flatEntries, (entryCount - (end - start)) * FIELDS, entryCount * FIELDS, null);
+        entryCount -= end - start;
+        this.contentDigest = null;
     }
 
     /**
@@ -123,13 +291,15 @@ public class PIDRecord implements EtagSupport {
      */
     @JsonIgnore
     public void setPropertyName(String propertyIdentifier, String name) {
-        List<PIDRecordEntry> propertyEntries = this.entries.get(propertyIdentifier);
-        if (propertyEntries == null) {
+        int start = startOfKey(propertyIdentifier);
+        int end = endOfKey(propertyIdentifier);
+        if (start == end) {
             throw new IllegalArgumentException(
                 "Property identifier not listed in this record: " + propertyIdentifier);
         }
-        for (PIDRecordEntry entry : propertyEntries) {
-            entry.setName(name);
+        String sharedName = share(propertyIdentifier, name).name();
+        for (int i = start; i < end; i++) {
+            flatEntries[i * FIELDS + NAME] = sharedName;
         }
     }
 
@@ -141,7 +311,8 @@ public class PIDRecord implements EtagSupport {
      * @return true, if the property/key/type is present.
      */
     public boolean hasProperty(String propertyIdentifier) {
-        return entries.containsKey(propertyIdentifier);
+        int start = startOfKey(propertyIdentifier);
+        return start < entryCount && keyAt(start).equals(propertyIdentifier);
     }
 
     /**
@@ -150,11 +321,28 @@ public class PIDRecord implements EtagSupport {
      * @param propertiesToKeep a collection of property identifiers to keep.
      */
     public void removePropertiesNotListed(Collection<String> propertiesToKeep) {
-        entries.keySet().removeIf(propID -> !propertiesToKeep.contains(propID));
+        // decided before moving entries, as the collection may be a view of this record
+        boolean[] keep = new boolean[entryCount];
+        for (int start = 0; start < entryCount; start = endOfAttribute(start)) {
+            keep[start] = propertiesToKeep.contains(keyAt(start));
+        }
+        int kept = 0;
+        int start = 0;
+        while (start < entryCount) {
+            int end = endOfAttribute(start);
+            if (keep[start]) {
+                System.arraycopy(flatEntries, start * FIELDS, flatEntries, kept * FIELDS, (end - start) * FIELDS);
+                kept += end - start;
+            }
+            start = end;
+        }
+        Arrays.fill(flatEntries, kept * FIELDS, entryCount * FIELDS, null);
+        entryCount = kept;
+        this.contentDigest = null;
     }
 
     public void removeAllValuesOf(String attribute) {
-        this.entries.remove(attribute);
+        removeRange(startOfKey(attribute), endOfKey(attribute));
     }
 
     /**
@@ -166,9 +354,9 @@ public class PIDRecord implements EtagSupport {
      */
     public Collection<String> getMissingMandatoryTypesOf(TypeDefinition profile) {
         Collection<String> missing = new ArrayList<>();
-        for (TypeDefinition td : profile.getSubTypes().values()) {
-            String typePid = td.getIdentifier();
-            if (!td.isOptional() && !this.entries.containsKey(typePid)) {
+        for (PropertyBinding property : profile.getProperties().values()) {
+            String typePid = property.getIdentifier();
+            if (!property.isOptional() && !this.hasProperty(typePid)) {
                 missing.add(typePid);
             }
         }
@@ -178,11 +366,12 @@ public class PIDRecord implements EtagSupport {
     /**
      * Get all properties contained in this record.
      * 
-     * @return al contained properties.
+     * @return all contained properties, sorted. Removing a property from the
+     *         set removes it from the record.
      */
     @JsonIgnore
     public Set<String> getPropertyIdentifiers() {
-        return entries.keySet();
+        return getEntries().keySet();
     }
 
     /**
@@ -190,11 +379,10 @@ public class PIDRecord implements EtagSupport {
      * for the provided propertyIndentifier.
      */
     public String getPropertyValue(String propertyIdentifier) {
-        List<PIDRecordEntry> entry = entries.get(propertyIdentifier);
-        if (entry == null) {
+        if (!hasProperty(propertyIdentifier)) {
             return "";
         }
-        return entry.getFirst().getValue();
+        return valueAt(startOfKey(propertyIdentifier));
     }
 
     /**
@@ -204,26 +392,353 @@ public class PIDRecord implements EtagSupport {
      * @return all values of the given property.
      */
     public String[] getPropertyValues(String propertyIdentifier) {
-        List<PIDRecordEntry> entry = entries.get(propertyIdentifier);
-        if (entry == null) {
-            return new String[]{};
+        int start = startOfKey(propertyIdentifier);
+        int end = endOfKey(propertyIdentifier);
+        String[] values = new String[end - start];
+        for (int i = start; i < end; i++) {
+            values[i - start] = valueAt(i);
+        }
+        return values;
+    }
+
+    /**
+     * The values of a record can be read by their index, without allocating, in
+     * the order of `getEntries`:
+     *
+     * ```
+     * int start = 0;
+     * while (start < rec.valueCount()) {
+     *     int end = rec.endOfAttribute(start);
+     *     // rec.keyAt(start) has the values rec.valueAt(start) to rec.valueAt(end - 1)
+     *     start = end;
+     * }
+     * ```
+     *
+     * @return the number of values of all attributes in this record.
+     */
+    public int valueCount() {
+        return entryCount;
+    }
+
+    /**
+     * @param index the index of a value, from 0 to `valueCount()` (exclusive).
+     * @return the key of the attribute the value belongs to.
+     */
+    public String keyAt(int index) {
+        return flatEntries[Objects.checkIndex(index, entryCount) * FIELDS + KEY];
+    }
+
+    /**
+     * @param index the index of a value, from 0 to `valueCount()` (exclusive).
+     * @return the name of the attribute the value belongs to.
+     */
+    public String nameAt(int index) {
+        return flatEntries[Objects.checkIndex(index, entryCount) * FIELDS + NAME];
+    }
+
+    /**
+     * @param index the index of a value, from 0 to `valueCount()` (exclusive).
+     * @return the value.
+     */
+    public String valueAt(int index) {
+        return flatEntries[Objects.checkIndex(index, entryCount) * FIELDS + VALUE];
+    }
+
+    /**
+     * @param index the index of a value, from 0 to `valueCount()` (exclusive).
+     * @return the index after the last value of the same attribute.
+     */
+    public int endOfAttribute(int index) {
+        String key = keyAt(index);
+        int end = index + 1;
+        while (end < entryCount && keyAt(end).equals(key)) {
+            end++;
+        }
+        return end;
+    }
+
+    private void set(int index, String key, String name, String value) {
+        flatEntries[index * FIELDS + KEY] = key;
+        flatEntries[index * FIELDS + NAME] = name;
+        flatEntries[index * FIELDS + VALUE] = value;
+    }
+
+    /**
+     * @return the index of the first entry with the given key or, if there is
+     *         none, of the first entry with a greater key.
+     */
+    private int startOfKey(String key) {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyAt(middle).compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the index of the first entry with a greater key than the given
+     *         one.
+     */
+    private int endOfKey(String key) {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyAt(middle).compareTo(key) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The entries of this record as a map (see `getEntries`).
+     */
+    private final class EntriesView extends AbstractMap<String, List<PIDRecordEntry>> {
+
+        @Override
+        public int size() {
+            int keys = 0;
+            for (int start = 0; start < entryCount; start = endOfAttribute(start)) {
+                keys++;
+            }
+            return keys;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return entryCount == 0;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String attribute && hasProperty(attribute);
+        }
+
+        @Override
+        public List<PIDRecordEntry> get(Object key) {
+            return containsKey(key) ? new ValuesView((String) key) : null;
+        }
+
+        @Override
+        public List<PIDRecordEntry> put(String key, List<PIDRecordEntry> values) {
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException("The identifier of a property may not be empty!");
+            }
+            // copied first, as the values may be a view of the replaced ones
+            List<PIDRecordEntry> replacing = copyOf(values);
+            List<PIDRecordEntry> replaced = remove(key);
+            int index = startOfKey(key);
+            for (PIDRecordEntry entry : replacing) {
+                insert(index++, key, entry.getName(), entry.getValue());
+            }
+            return replaced;
+        }
+
+        @Override
+        public List<PIDRecordEntry> remove(Object key) {
+            if (!containsKey(key)) {
+                return null;
+            }
+            String attribute = (String) key;
+            List<PIDRecordEntry> removed = copyOf(new ValuesView(attribute));
+            removeAllValuesOf(attribute);
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            removeRange(0, entryCount);
+        }
+
+        @Override
+        public Set<Map.Entry<String, List<PIDRecordEntry>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return EntriesView.this.size();
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, List<PIDRecordEntry>>> iterator() {
+                    return new Iterator<>() {
+                        private int next = 0;
+                        private String current = null;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < entryCount;
+                        }
+
+                        @Override
+                        public Map.Entry<String, List<PIDRecordEntry>> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            current = keyAt(next);
+                            next = endOfAttribute(next);
+                            return new Attribute(current);
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (current == null) {
+                                throw new IllegalStateException();
+                            }
+                            next = startOfKey(current);
+                            removeAllValuesOf(current);
+                            current = null;
+                        }
+                    };
+                }
+            };
+        }
+
+        private static List<PIDRecordEntry> copyOf(List<PIDRecordEntry> values) {
+            List<PIDRecordEntry> copies = new ArrayList<>(values.size());
+            for (PIDRecordEntry entry : values) {
+                copies.add(new PIDRecordEntry(entry.getKey(), entry.getName(), entry.getValue()));
+            }
+            return copies;
+        }
+    }
+
+    /**
+     * An attribute of the map of entries. Setting its values replaces them in
+     * the record.
+     */
+    private final class Attribute extends AbstractMap.SimpleEntry<String, List<PIDRecordEntry>> {
+
+        Attribute(String key) {
+            super(key, new ValuesView(key));
+        }
+
+        @Override
+        public List<PIDRecordEntry> setValue(List<PIDRecordEntry> values) {
+            return getEntries().put(getKey(), values);
+        }
+    }
+
+    /**
+     * The values of an attribute (see `getEntries`).
+     */
+    private final class ValuesView extends AbstractList<PIDRecordEntry> {
+
+        private final String key;
+
+        ValuesView(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public int size() {
+            return endOfKey(key) - startOfKey(key);
+        }
+
+        @Override
+        public PIDRecordEntry get(int index) {
+            Objects.checkIndex(index, size());
+            return new EntryView(key, index);
+        }
+
+        @Override
+        public PIDRecordEntry set(int index, PIDRecordEntry entry) {
+            int position = startOfKey(key) + Objects.checkIndex(index, size());
+            PIDRecordEntry replaced = new PIDRecordEntry(key, nameAt(position), valueAt(position));
+            flatEntries[position * FIELDS + NAME] = share(key, entry.getName()).name();
+            flatEntries[position * FIELDS + VALUE] = entry.getValue();
+            contentDigest = null;
+            return replaced;
+        }
+
+        @Override
+        public void add(int index, PIDRecordEntry entry) {
+            insert(startOfKey(key) + Objects.checkIndex(index, size() + 1), key, entry.getName(), entry.getValue());
         }
 
-        List<String> values = new ArrayList<>();
-        for (PIDRecordEntry e : entry) {
-            values.add(e.getValue());
+        @Override
+        public PIDRecordEntry remove(int index) {
+            int position = startOfKey(key) + Objects.checkIndex(index, size());
+            PIDRecordEntry removed = new PIDRecordEntry(key, nameAt(position), valueAt(position));
+            removeRange(position, position + 1);
+            return removed;
+        }
+    }
+
+    /**
+     * A value of an attribute (see `getEntries`), identified by the key and its
+     * position among the values of the key.
+     */
+    private final class EntryView extends PIDRecordEntry {
+
+        private String key;
+        private int ordinal;
+
+        EntryView(String key, int ordinal) {
+            this.key = key;
+            this.ordinal = ordinal;
+        }
+
+        private int position() {
+            return startOfKey(key) + Objects.checkIndex(ordinal, endOfKey(key) - startOfKey(key));
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String getName() {
+            return nameAt(position());
+        }
+
+        @Override
+        public String getValue() {
+            return valueAt(position());
+        }
+
+        /**
+         * Moves this value to the given key, as its last value.
+         */
+        @Override
+        public void setKey(String newKey) {
+            if (newKey.isEmpty()) {
+                throw new IllegalArgumentException("The identifier of a property may not be empty!");
+            }
+            int position = position();
+            String name = nameAt(position);
+            String value = valueAt(position);
+            removeRange(position, position + 1);
+            int index = endOfKey(newKey);
+            insert(index, newKey, name, value);
+            this.ordinal = index - startOfKey(newKey);
+            this.key = newKey;
+        }
+
+        @Override
+        public void setName(String name) {
+            flatEntries[position() * FIELDS + NAME] = share(key, name).name();
+        }
+
+        @Override
+        public void setValue(String value) {
+            flatEntries[position() * FIELDS + VALUE] = value;
+            contentDigest = null;
         }
-        return values.toArray(new String[] {});
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((pid == null) ? 0 : pid.hashCode());
-        Set<SimplePair> simpleEntries = this.getSimpleEntries();
-        result = prime * result + ((simpleEntries == null) ? 0 : simpleEntries.hashCode());
-        return result;
+        return this.contentDigest().asInt();
     }
 
     /**
@@ -249,16 +764,69 @@ public class PIDRecord implements EtagSupport {
         }
 
         // this ignores attributes order, names, and even duplicates
+        HashCode thisDigest = this.contentDigest;
+        HashCode otherDigest = other.contentDigest;
+        if (thisDigest != null && otherDigest != null) {
+            return thisDigest.equals(otherDigest);
+        }
+        // comparing once is cheaper than computing the digests
         return this.getSimpleEntries().equals(other.getSimpleEntries());
     }
 
+    private HashCode contentDigest() {
+        HashCode digest = this.contentDigest;
+        if (digest == null) {
+            digest = computeContentDigest();
+            this.contentDigest = digest;
+        }
+        return digest;
+    }
+
+    /**
+     * Hashes the PID (empty if blank) and the distinct key-value pairs in a
+     * canonical order: sorted by key, then by value. Names are ignored.
+     */
+    private HashCode computeContentDigest() {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, pid == null || pid.isBlank() ? "" : pid);
+        int start = 0;
+        while (start < entryCount) {
+            int end = endOfAttribute(start);
+            String key = keyAt(start);
+            String[] values = new String[end - start];
+            for (int i = start; i < end; i++) {
+                values[i - start] = valueAt(i);
+            }
+            Arrays.sort(values, Comparator.nullsFirst(Comparator.naturalOrder()));
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0 && Objects.equals(values[i - 1], values[i])) {
+                    continue;
+                }
+                putString(hasher, key);
+                putString(hasher, values[i]);
+            }
+            start = end;
+        }
+        return hasher.hash();
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+        }
+    }
+
     @Override
     public String toString() {
-        return "PIDRecord [pid=" + pid + ", entries=" + entries + "]";
+        return "PIDRecord [pid=" + pid + ", entries=" + getEntries() + "]";
     }
 
     /**
-     * Calculates an etag for a record.
+     * Calculates a strong etag for a record: the SHA-256 digest of its PID and
+     * its distinct key-value pairs. It is computed once and reused until the
+     * record is modified.
      * 
      * @return an etag, which is independent of any order or duplicates in the
      *         entries.
@@ -266,6 +834,6 @@ public class PIDRecord implements EtagSupport {
     @JsonIgnore
     @Override
     public String getEtag() {
-        return Integer.toString(this.hashCode());
+        return this.contentDigest().toString();
     }
 }
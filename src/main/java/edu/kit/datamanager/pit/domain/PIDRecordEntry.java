@@ -5,20 +5,23 @@
  */
 package edu.kit.datamanager.pit.domain;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
+ * A single value of an attribute in a `PIDRecord`. Within a record, the key
+ * and name are shared with all records (see `PIDRecord`). Entries handed out
+ * by a record are views of it (see `PIDRecord.getEntries`).
  *
  * @author Torridity
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class PIDRecordEntry {
 
     private String key;
     private String name;
     private String value;
-    
-    @JsonIgnore
-    private TypeDefinition resolvedTypeDefinition;
 }
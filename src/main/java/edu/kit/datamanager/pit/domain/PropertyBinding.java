@@ -0,0 +1,58 @@
+package edu.kit.datamanager.pit.domain;
+
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+
+/**
+ * The use of a sub-type within a type or profile, e.g. if the sub-type is
+ * optional in this profile. Other profiles may use the same sub-type
+ * differently.
+ *
+ * The sub-type is looked up in the type graph the profile was resolved in, so
+ * type graphs may contain cycles. Therefore, bindings are compared and printed
+ * without their sub-type.
+ */
+@Value
+public class PropertyBinding {
+
+    String name;
+    String identifier;
+    boolean optional;
+    boolean repeatable;
+    String expression;
+    String value;
+
+    /**
+     * The resolved types by identifier, containing at least the sub-type of this
+     * binding. Must not be modified after the type graph was resolved.
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    Map<String, TypeDefinition> typeGraph;
+
+    /**
+     * Creates a mandatory, non-repeatable binding to the given type, named after
+     * its identifier.
+     *
+     * @param type the bound sub-type.
+     * @return the binding.
+     */
+    public static PropertyBinding to(TypeDefinition type) {
+        return new PropertyBinding(
+                type.getIdentifier(), type.getIdentifier(), false, false, null, null,
+                Map.of(type.getIdentifier(), type));
+    }
+
+    /**
+     * @return the definition of the bound sub-type.
+     */
+    public TypeDefinition getType() {
+        return typeGraph.get(identifier);
+    }
+}
@@ -2,7 +2,6 @@ package edu.kit.datamanager.pit.domain;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map.Entry;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -33,12 +32,9 @@ public class SimplePidRecord {
     public SimplePidRecord(PIDRecord rec) {
         this.pid = rec.getPid();
         this.pairs = new ArrayList<>();
-        for (Entry<String, List<PIDRecordEntry>> entry : rec.getEntries().entrySet()) {
-            String key = entry.getKey();
-            for (PIDRecordEntry value : entry.getValue()) {
-                SimplePair p = new SimplePair(key, value.getValue());
-                this.pairs.add(p);
-            }
+        for (int i = 0; i < rec.valueCount(); i++) {
+            SimplePair p = new SimplePair(rec.keyAt(i), rec.valueAt(i));
+            this.pairs.add(p);
         }
     }
 
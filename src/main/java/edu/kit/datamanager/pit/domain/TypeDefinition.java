@@ -5,99 +5,102 @@ package edu.kit.datamanager.pit.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import edu.kit.datamanager.pit.typeregistry.schema.TypeSchema;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import lombok.Data;
-import org.everit.json.schema.Schema;
-import org.everit.json.schema.ValidationException;
-import org.everit.json.schema.loader.SchemaLoader;
-import org.json.JSONObject;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.ToString;
+import lombok.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Representation of a type or profile definition in a data type registry.
- * 
+ *
+ * Type definitions are immutable and can therefore be shared between profiles
+ * and threads. How a profile uses a sub-type (e.g. if it is optional) is stored
+ * in a `PropertyBinding` owned by the profile.
+ *
  * @author Thomas Jejkal
  */
-@Data
+@Value
+@Builder(toBuilder = true)
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TypeDefinition {
 
     private static final Logger LOG = LoggerFactory.getLogger(TypeDefinition.class);
 
-    private String name;
-    private String identifier;
-    private String description;
-    private boolean optional = false;
-    private boolean repeatable = false;
-    private String expression;
-    private String value;
-    private Schema jsonSchema;
+    String name;
+    String identifier;
+    String description;
+    /**
+     * The compiled JSON schema (see `SchemaCompiler`), or null if there is no
+     * schema.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    TypeSchema schema;
 
-    private ProvenanceInformation provenance;
+    ProvenanceInformation provenance;
+    /**
+     * The bindings of the sub-types by sub-type identifier.
+     */
     @JsonProperty("properties")
-    private Map<String, TypeDefinition> subTypes = new HashMap<>();
+    @Singular
+    Map<String, PropertyBinding> properties;
 
+    /**
+     * @return the version of the JSON schema (see `SchemaPool.versionOf`), or
+     *         null if there is no schema.
+     */
     @JsonIgnore
-    private TypeDefinition resolvedTypeDefinition;
+    public String getSchemaVersion() {
+        return schema == null ? null : schema.getVersion();
+    }
 
     @JsonIgnore
     public Set<String> getAllProperties() {
-        Set<String> props = new HashSet<>();
-        Set<Entry<String, TypeDefinition>> entries = subTypes.entrySet();
-        entries.forEach(entry -> props.add(entry.getKey()));
-
-        return props;
+        return properties.keySet();
     }
 
-    public void setSchema(String schema) {
-        if (schema == null) {
-            return;
-        }
+    /**
+     * @param property the identifier of a sub-type.
+     * @return the binding of the sub-type, or null if it is not a property of
+     *         this type.
+     */
+    public PropertyBinding getProperty(String property) {
+        return properties.get(property);
+    }
 
-        JSONObject jsonSchema = new JSONObject(schema);
-        this.jsonSchema = SchemaLoader.load(jsonSchema);
+    /**
+     * @return the sub-types by identifier.
+     */
+    @JsonIgnore
+    public Map<String, TypeDefinition> getSubTypes() {
+        Map<String, TypeDefinition> subTypes = new HashMap<>();
+        properties.forEach((identifier, binding) -> subTypes.put(identifier, binding.getType()));
+        return subTypes;
     }
 
     /**
-     * Takes a value and validates it using this types JSON schema.
-     * 
+     * Takes a value and validates it using this types JSON schema (see
+     * `TypeSchema.validate`).
+     *
      * @param document the value, usually taken from a PID record to be validated.
      * @return true if the given value is valid accodting to this type.
      */
     public boolean validate(String document) {
         LOG.trace("Performing validate({}).", document);
-        if (jsonSchema != null) {
-            LOG.trace("Using schema-based validation.");
-            Object toValidate = document;
-            if (document.startsWith("{")) {
-                LOG.trace("Creating JSON object from provided value.");
-                toValidate = new JSONObject(document);
-            }
-            try {
-                LOG.trace("Validating provided value using type schema.");
-                jsonSchema.validate(toValidate);
-                LOG.trace("Validation successful.");
-            } catch (ValidationException ex) {
-                LOG.error("Validation failed.", ex);
-                return false;
-            }
-        } else {
+        if (schema == null) {
             LOG.trace("No schema available. Skipping validation.");
+            return true;
         }
-
-        return true;
+        return schema.validate(identifier, document);
     }
 
     public boolean isOptional(String property) {
-        return subTypes.get(property).isOptional();
-    }
-
-    public void addSubType(TypeDefinition subType) {
-        subTypes.put(subType.getIdentifier(), subType);
+        return properties.get(property).isOptional();
     }
 }
@@ -0,0 +1,35 @@
+package edu.kit.datamanager.pit.domain;
+
+import lombok.Value;
+
+/**
+ * A single reason why a PID record is not valid according to a profile.
+ *
+ * Which fields are set depends on the kind of violation: a missing mandatory
+ * attribute has no value, and an attribute which is not allowed in the profile
+ * has no type.
+ */
+@Value
+public class Violation {
+
+    /**
+     * The identifier of the affected attribute.
+     */
+    String attribute;
+    /**
+     * The affected value, or null if the violation is not about a value.
+     */
+    String value;
+    /**
+     * The identifier of the type the value was checked against, or null.
+     */
+    String type;
+    /**
+     * The profile in which the violation was found.
+     */
+    String profile;
+    /**
+     * A human readable description of the violation.
+     */
+    String message;
+}
@@ -19,7 +19,6 @@ import edu.kit.datamanager.pit.domain.Operations;
 import edu.kit.datamanager.pit.domain.PIDRecord;
 import edu.kit.datamanager.pit.pidsystem.impl.local.PidDatabaseObject;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -29,8 +28,6 @@ import java.util.Map;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.FetchType;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
@@ -40,8 +37,6 @@ import org.springframework.data.elasticsearch.annotations.FieldType;
 @Document(indexName = "typedpidmaker")
 public class PidRecordElasticWrapper {
 
-    private static final Logger LOG = LoggerFactory.getLogger(PidRecordElasticWrapper.class);
-
     @Id
     private String pid;
 
@@ -63,12 +58,7 @@ public class PidRecordElasticWrapper {
         this.attributes = simple.getEntries();
         this.read.add("anonymousUser");
 
-        try {
-            this.created = dateOperations.findDateCreated(pidRecord).orElse(null);
-            this.lastUpdate = dateOperations.findDateModified(pidRecord).orElse(null);
-        } catch (IOException e) {
-            LOG.error("Could not retrieve date from record (pid: " + pidRecord.getPid() + ").", e);
-            e.printStackTrace();
-        }
+        this.created = dateOperations.findDateCreated(pidRecord).orElse(null);
+        this.lastUpdate = dateOperations.findDateModified(pidRecord).orElse(null);
     }
 }
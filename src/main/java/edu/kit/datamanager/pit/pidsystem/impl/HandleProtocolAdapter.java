@@ -34,7 +34,6 @@ import edu.kit.datamanager.pit.common.RecordValidationException;
 import edu.kit.datamanager.pit.configuration.HandleCredentials;
 import edu.kit.datamanager.pit.configuration.HandleProtocolProperties;
 import edu.kit.datamanager.pit.domain.PIDRecord;
-import edu.kit.datamanager.pit.domain.PIDRecordEntry;
 import edu.kit.datamanager.pit.domain.TypeDefinition;
 import edu.kit.datamanager.pit.pidsystem.IIdentifierSystem;
 import net.handle.api.HSAdapter;
@@ -436,21 +435,18 @@ public class HandleProtocolAdapter implements IIdentifierSystem {
             }
         }
         HandleIndex index = new HandleIndex().skipping(skippingIndices);
-        Map<String, List<PIDRecordEntry>> entries = pidRecord.getEntries();
-
-        for (Entry<String, List<PIDRecordEntry>> entry : entries.entrySet()) {
-            for (PIDRecordEntry val : entry.getValue()) {
-                String key = val.getKey();
-                HandleValue hv = new HandleValue();
-                int i = index.nextIndex();
-                hv.setIndex(i);
-                hv.setType(key.getBytes(StandardCharsets.UTF_8));
-                hv.setData(val.getValue().getBytes(StandardCharsets.UTF_8));
-                result.add(hv);
-                LOG.debug("Entry: ({}) {} <-> {}", i, key, val);
-            }
+        for (int value = 0; value < pidRecord.valueCount(); value++) {
+            String key = pidRecord.keyAt(value);
+            String val = pidRecord.valueAt(value);
+            HandleValue hv = new HandleValue();
+            int i = index.nextIndex();
+            hv.setIndex(i);
+            hv.setType(key.getBytes(StandardCharsets.UTF_8));
+            hv.setData(val.getBytes(StandardCharsets.UTF_8));
+            result.add(hv);
+            LOG.debug("Entry: ({}) {} <-> {}", i, key, val);
         }
-        assert result.size() >= pidRecord.getEntries().keySet().size();
+        assert result.size() >= pidRecord.valueCount();
         return result;
     }
 
@@ -2,7 +2,6 @@ package edu.kit.datamanager.pit.pidsystem.impl.local;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import jakarta.persistence.Column;
@@ -12,7 +11,6 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 
 import edu.kit.datamanager.pit.domain.PIDRecord;
-import edu.kit.datamanager.pit.domain.PIDRecordEntry;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -73,17 +71,12 @@ public class PidDatabaseObject {
     public PidDatabaseObject(PIDRecord other) {
         this.pid = other.getPid();
 
-        other
-            .getEntries()
-            .values()
-            .stream()
-            .flatMap(List<PIDRecordEntry>::stream)
-            .forEach(this::addEntry);
+        for (int i = 0; i < other.valueCount(); i++) {
+            this.addEntry(other.keyAt(i), other.valueAt(i));
+        }
     }
 
-    private void addEntry(PIDRecordEntry entry) {
-        String key = entry.getKey();
-        String value = entry.getValue();
+    private void addEntry(String key, String value) {
         ArrayList<String> values = this.entries.getOrDefault(key, new ArrayList<>());
         values.add(value);
         this.entries.put(key, values);
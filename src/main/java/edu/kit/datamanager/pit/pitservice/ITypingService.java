@@ -6,6 +6,8 @@ import edu.kit.datamanager.pit.domain.Operations;
 import edu.kit.datamanager.pit.domain.PIDRecord;
 import edu.kit.datamanager.pit.domain.TypeDefinition;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
 
 import edu.kit.datamanager.pit.pidsystem.IIdentifierSystem;
 
@@ -21,6 +23,15 @@ public interface ITypingService extends IIdentifierSystem {
     public void validate(PIDRecord pidRecord)
             throws RecordValidationException, ExternalServiceException;
 
+    /**
+     * Validates the record using the current validation strategy.
+     *
+     * @param pidRecord the record to validate.
+     * @param mode whether to stop at the first violation or to report all.
+     */
+    public void validate(PIDRecord pidRecord, ValidationMode mode)
+            throws RecordValidationException, ExternalServiceException;
+
     /**
      * Retrieves a type definition
      *
@@ -31,6 +42,17 @@ public interface ITypingService extends IIdentifierSystem {
      */
     public TypeDefinition describeType(String typeIdentifier) throws IOException;
 
+    /**
+     * Retrieves multiple type definitions at once. Types which are not known
+     * yet are resolved concurrently.
+     *
+     * @param typeIdentifiers the identifiers of the types.
+     * @return the type definitions by identifier. Identifiers which are not
+     * types are omitted.
+     * @throws IOException on errors regarding resolving types.
+     */
+    public Map<String, TypeDefinition> describeTypes(Collection<String> typeIdentifiers) throws IOException;
+
     /**
      * Queries a single property from the PID.
      *
@@ -66,9 +88,8 @@ public interface ITypingService extends IIdentifierSystem {
     public PIDRecord queryByType(String pid, String typeIdentifier, boolean includePropertyNames) throws IOException;
 
     /**
-     * Returns an operations instance, configured with this typingService.
-     * 
-     * Convenience method for `new Operations(typingService)`.
+     * Returns an operations instance, configured with the type cache of this
+     * typingService.
      * 
      * @return an operation instance.
      */
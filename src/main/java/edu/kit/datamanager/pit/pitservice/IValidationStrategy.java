@@ -13,4 +13,18 @@ public interface IValidationStrategy {
      * @param pidRecord the PID record to validate.
      */
     void validate(PIDRecord pidRecord) throws RecordValidationException, ExternalServiceException;
+
+    /**
+     * Validate the given record in the given mode. Exceptions indicate failure.
+     * 
+     * Strategies which can not collect all violations validate as in
+     * `validate(PIDRecord)`.
+     * 
+     * @param pidRecord the PID record to validate.
+     * @param mode whether to stop at the first violation or to collect all.
+     */
+    default void validate(PIDRecord pidRecord, ValidationMode mode)
+            throws RecordValidationException, ExternalServiceException {
+        validate(pidRecord);
+    }
 }
@@ -0,0 +1,17 @@
+package edu.kit.datamanager.pit.pitservice;
+
+/**
+ * How much of a record is validated if it turns out to be invalid.
+ */
+public enum ValidationMode {
+    /**
+     * Stop at the first violation found. This is the cheapest mode for valid and
+     * invalid records.
+     */
+    FAIL_FAST,
+    /**
+     * Check all attributes and values and report every violation found. Values
+     * of large records are checked in parallel.
+     */
+    COLLECT_ALL;
+}
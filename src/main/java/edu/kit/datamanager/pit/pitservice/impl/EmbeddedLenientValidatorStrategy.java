@@ -0,0 +1,57 @@
+package edu.kit.datamanager.pit.pitservice.impl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import edu.kit.datamanager.pit.common.ExternalServiceException;
+import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.typeregistry.ITypeRegistry;
+
+/**
+ * Validates a PID record using embedded profile(s), allowing additional
+ * attributes.
+ * 
+ * - checks if all mandatory attributes are present
+ * - validates all available attributes
+ * - attributes not defined within the profile are resolved in the type
+ *   registry and validated against their own type
+ * - fails if an attribute is neither defined within the profile nor a type
+ * 
+ * All additional attributes of a record are resolved concurrently via the type
+ * cache. Identifiers which are not types are remembered by the negative cache
+ * (see `TypeDefinitionLoader`), so they are not requested again and again.
+ */
+public class EmbeddedLenientValidatorStrategy extends EmbeddedStrictValidatorStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmbeddedLenientValidatorStrategy.class);
+
+    @Autowired
+    ITypeRegistry typeRegistry;
+
+    @Override
+    protected ValidationPlan planFor(PIDRecord pidRecord, List<TypeDefinition> profiles)
+            throws ExternalServiceException {
+        ValidationPlan plan = super.planFor(pidRecord, profiles);
+        Set<String> additionalAttributes = plan.unknownAttributes(pidRecord);
+        if (additionalAttributes.isEmpty()) {
+            return plan;
+        }
+        LOG.debug("Resolving attributes {}, which are not part of profile(s) {}.",
+                additionalAttributes, plan.getProfileIdentifier());
+        Map<String, TypeDefinition> additionalTypes;
+        try {
+            additionalTypes = typeRegistry.queryTypeDefinitions(additionalAttributes);
+        } catch (IOException e) {
+            LOG.error("Could not resolve attributes {}.", additionalAttributes);
+            throw new ExternalServiceException(applicationProps.getTypeRegistryUri().toString());
+        }
+        return plan.withAdditionalTypes(additionalTypes);
+    }
+}
@@ -0,0 +1,89 @@
+package edu.kit.datamanager.pit.pitservice.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import edu.kit.datamanager.pit.common.ExternalServiceException;
+import edu.kit.datamanager.pit.common.RecordValidationException;
+import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.domain.Violation;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaEngine;
+
+/**
+ * Validates a PID record against the JSON schema of its profile(s), if the
+ * profile provides a schema for whole records (see `RecordSchema`).
+ *
+ * The record is validated in a single pass, instead of validating each value
+ * against the schema of its type. Profiles without such a schema are validated
+ * together like in `EmbeddedStrictValidatorStrategy`.
+ */
+public class EmbeddedSchemaValidatorStrategy extends EmbeddedStrictValidatorStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmbeddedSchemaValidatorStrategy.class);
+
+    @Autowired
+    SchemaEngine schemaEngine;
+
+    /**
+     * The record schema of each profile definition, or empty if the profile has
+     * none. Definitions are compared by identity (see `validationPlans`).
+     */
+    private final Cache<TypeDefinition, Optional<RecordSchema>> recordSchemas = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private Optional<RecordSchema> getRecordSchema(TypeDefinition profile) {
+        return recordSchemas.asMap().computeIfAbsent(profile, p -> RecordSchema.compile(p, schemaEngine));
+    }
+
+    @Override
+    protected void strictProfileValidation(PIDRecord pidRecord, List<TypeDefinition> profiles)
+            throws RecordValidationException, ExternalServiceException {
+        List<TypeDefinition> withoutSchema = new ArrayList<>();
+        for (TypeDefinition profile : profiles) {
+            Optional<RecordSchema> recordSchema = getRecordSchema(profile);
+            if (recordSchema.isEmpty()) {
+                withoutSchema.add(profile);
+                continue;
+            }
+            LOG.trace("Validating PID record against the schema of profile {}.", profile.getIdentifier());
+            try {
+                recordSchema.get().validate(pidRecord);
+            } catch (RecordValidationException e) {
+                LOG.error("Validation against profile {} failed: {}", profile.getIdentifier(), e.getMessage());
+                throw e;
+            }
+        }
+        if (!withoutSchema.isEmpty()) {
+            super.strictProfileValidation(pidRecord, withoutSchema);
+        }
+    }
+
+    @Override
+    protected List<Violation> collectViolations(PIDRecord pidRecord, List<TypeDefinition> profiles)
+            throws ExternalServiceException {
+        List<Violation> violations = new ArrayList<>();
+        List<TypeDefinition> withoutSchema = new ArrayList<>();
+        for (TypeDefinition profile : profiles) {
+            Optional<RecordSchema> recordSchema = getRecordSchema(profile);
+            if (recordSchema.isEmpty()) {
+                withoutSchema.add(profile);
+            } else {
+                violations.addAll(recordSchema.get().collectViolations(pidRecord));
+            }
+        }
+        if (!withoutSchema.isEmpty()) {
+            violations.addAll(super.collectViolations(pidRecord, withoutSchema));
+        }
+        return violations;
+    }
+}
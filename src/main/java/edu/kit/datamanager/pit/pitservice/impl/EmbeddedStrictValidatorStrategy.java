@@ -2,19 +2,27 @@ package edu.kit.datamanager.pit.pitservice.impl;
 
 import edu.kit.datamanager.pit.common.ExternalServiceException;
 import edu.kit.datamanager.pit.common.RecordValidationException;
+import edu.kit.datamanager.pit.common.TypeNotFoundException;
 import edu.kit.datamanager.pit.configuration.ApplicationProperties;
 import edu.kit.datamanager.pit.domain.PIDRecord;
 import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.domain.Violation;
 import edu.kit.datamanager.pit.pitservice.IValidationStrategy;
-import edu.kit.datamanager.pit.util.TypeValidationUtils;
+import edu.kit.datamanager.pit.pitservice.ValidationMode;
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationProfiler;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 /**
  * Validates a PID record using embedded profile(s).
@@ -22,19 +30,83 @@ import com.google.common.cache.LoadingCache;
  * - checks if all mandatory attributes are present
  * - validates all available attributes
  * - fails if an attribute is not defined within the profile
+ * 
+ * Several profiles are validated together (see `ValidationPlan.merge`), so an
+ * attribute must be defined in every profile of the record. The time spent per
+ * profile (or combination of profiles) is recorded (see `ValidationProfiler`).
  */
 public class EmbeddedStrictValidatorStrategy implements IValidationStrategy {
 
     private static final Logger LOG = LoggerFactory.getLogger(EmbeddedStrictValidatorStrategy.class);
 
+    /**
+     * Combinations of profiles are rare, so this bounds the merged plans only in
+     * case of many refreshed schema versions.
+     */
+    private static final int MAXIMUM_MERGED_PLANS = 1000;
+
     @Autowired
     public LoadingCache<String, TypeDefinition> typeLoader;
 
     @Autowired
     ApplicationProperties applicationProps;
 
+    @Autowired
+    ValidationProfiler profiler;
+
+    /**
+     * The compiled validation plan of each profile definition. Definitions are
+     * compared by identity, so a refreshed definition gets a new plan, and plans
+     * of definitions no longer in use are removed.
+     */
+    private final Cache<TypeDefinition, ValidationPlan> validationPlans = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * The merged plans of records with several profiles, by the identifiers and
+     * schema versions of the profiles. Each is stored together with the plans
+     * it was merged from, so it is merged again if a profile definition was
+     * refreshed.
+     */
+    private final Cache<MergeKey, MergedPlan> mergedPlans = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_MERGED_PLANS)
+            .build();
+
+    private record MergeKey(List<String> profiles, List<String> schemaVersions) {
+        static MergeKey of(List<TypeDefinition> profiles) {
+            List<String> identifiers = new ArrayList<>(profiles.size());
+            List<String> schemaVersions = new ArrayList<>(profiles.size());
+            for (TypeDefinition profile : profiles) {
+                identifiers.add(profile.getIdentifier());
+                schemaVersions.add(profile.getSchemaVersion());
+            }
+            return new MergeKey(identifiers, schemaVersions);
+        }
+    }
+
+    private record MergedPlan(List<ValidationPlan> plans, ValidationPlan merged) {
+        boolean isMergeOf(List<ValidationPlan> current) {
+            if (plans.size() != current.size()) {
+                return false;
+            }
+            for (int i = 0; i < plans.size(); i++) {
+                if (plans.get(i) != current.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     @Override
     public void validate(PIDRecord pidRecord) throws RecordValidationException, ExternalServiceException {
+        validate(pidRecord, ValidationMode.FAIL_FAST);
+    }
+
+    @Override
+    public void validate(PIDRecord pidRecord, ValidationMode mode)
+            throws RecordValidationException, ExternalServiceException {
         String profileKey = applicationProps.getProfileKey();
         if (!pidRecord.hasProperty(profileKey)) {
             throw new RecordValidationException(
@@ -50,6 +122,7 @@ public class EmbeddedStrictValidatorStrategy implements IValidationStrategy {
                     "Profile attribute " + profileKey + " has no values.");
         }
 
+        List<TypeDefinition> profiles = new ArrayList<>();
         for (String profilePID : profilePIDs) {
             TypeDefinition profileDefinition;
             try {
@@ -58,6 +131,11 @@ public class EmbeddedStrictValidatorStrategy implements IValidationStrategy {
                 LOG.error("Could not resolve identifier {}.", profilePID);
                 throw new ExternalServiceException(
                         applicationProps.getTypeRegistryUri().toString());
+            } catch (UncheckedExecutionException e) {
+                if (!(e.getCause() instanceof TypeNotFoundException)) {
+                    throw e;
+                }
+                profileDefinition = null;
             }
             if (profileDefinition == null) {
                 LOG.error("No type definition found for identifier {}.", profilePID);
@@ -65,81 +143,105 @@ public class EmbeddedStrictValidatorStrategy implements IValidationStrategy {
                         pidRecord,
                         String.format("No type found for identifier %s.", profilePID));
             }
+            profiles.add(profileDefinition);
+        }
 
-            LOG.debug("validating profile {}", profilePID);
-            this.strictProfileValidation(pidRecord, profileDefinition);
-            LOG.debug("successfully validated {}", profilePID);
+        String profileIdentifiers = String.join(", ", profilePIDs);
+        LOG.debug("validating profile(s) {}", profileIdentifiers);
+        long start = profiler.start();
+        boolean valid = false;
+        try {
+            if (mode == ValidationMode.COLLECT_ALL) {
+                List<Violation> violations = this.collectViolations(pidRecord, profiles);
+                if (!violations.isEmpty()) {
+                    LOG.error("Validation of record {} failed with {} violation(s).", pidRecord.getPid(), violations.size());
+                    throw new RecordValidationException(pidRecord, violations);
+                }
+            } else {
+                this.strictProfileValidation(pidRecord, profiles);
+                LOG.debug("successfully validated {}", profileIdentifiers);
+            }
+            valid = true;
+        } finally {
+            profiler.recordProfile(profileIdentifiers, start, valid);
         }
     }
 
     /**
-     * Exceptions indicate failure. No Exceptions mean success.
+     * @param profiles the profiles of a record.
+     * @return the validation plan of the profile, or the merged plan of all
+     *         profiles (see `ValidationPlan.merge`).
+     */
+    protected ValidationPlan getPlan(List<TypeDefinition> profiles) {
+        if (profiles.size() == 1) {
+            return getPlan(profiles.get(0));
+        }
+        List<ValidationPlan> plans = new ArrayList<>(profiles.size());
+        for (TypeDefinition profile : profiles) {
+            plans.add(getPlan(profile));
+        }
+        MergeKey key = MergeKey.of(profiles);
+        MergedPlan cached = mergedPlans.getIfPresent(key);
+        if (cached != null && cached.isMergeOf(plans)) {
+            return cached.merged();
+        }
+        ValidationPlan merged = ValidationPlan.merge(plans);
+        mergedPlans.put(key, new MergedPlan(plans, merged));
+        return merged;
+    }
+
+    private ValidationPlan getPlan(TypeDefinition profile) {
+        return validationPlans.asMap().computeIfAbsent(profile, ValidationPlan::compile);
+    }
+
+    /**
+     * Provides the plan to validate the given record with. By default, this is
+     * the plan of its profile(s).
      * 
      * @param pidRecord the PID record to validate.
-     * @param profile   the profile to validate against.
-     * @throws RecordValidationException with error message on validation errors.
+     * @param profiles  the profiles to validate against, at least one.
+     * @return the validation plan.
+     * @throws ExternalServiceException if the plan requires information from
+     *                                  the type registry, which is unavailable.
      */
-    private void strictProfileValidation(PIDRecord pidRecord, TypeDefinition profile) throws RecordValidationException {
-        // if (profile.hasSchema()) {
-        // TODO issue https://github.com/kit-data-manager/pit-service/issues/104
-        // validate using schema and you are done (strict validation)
-        // String jsonRecord = ""; // TODO format depends on schema source
-        // return profile.validate(jsonRecord);
-        // }
-
-        LOG.trace("Validating PID record against type definition.");
-
-        TypeValidationUtils.checkMandatoryAttributes(pidRecord, profile);
-
-        for (String attributeKey : pidRecord.getPropertyIdentifiers()) {
-            LOG.trace("Checking PID record key {}.", attributeKey);
-
-            TypeDefinition type = profile.getSubTypes().get(attributeKey);
-            if (type == null) {
-                LOG.error("No sub-type found for key {}.", attributeKey);
-                // TODO try to resolve it (for later when we support "allow additional
-                // attributes")
-                // if profile.allowsAdditionalAttributes() {...} else
-                throw new RecordValidationException(
-                        pidRecord,
-                        String.format("Attribute %s is not allowed in profile %s",
-                                attributeKey,
-                                profile.getIdentifier()));
-            }
-
-            validateValuesForKey(pidRecord, attributeKey, type);
-        }
+    protected ValidationPlan planFor(PIDRecord pidRecord, List<TypeDefinition> profiles)
+            throws ExternalServiceException {
+        return getPlan(profiles);
     }
 
     /**
-     * Validates all values of an attribute against a given type definition.
+     * Validates the record against the profiles without stopping at the first
+     * violation.
      * 
-     * @param pidRecord the record containing the attribute and value.
-     * @param attributeKey the attribute to check the values for.
-     * @param type the type definition to check against.
-     * @throws RecordValidationException on error.
+     * @param pidRecord the PID record to validate.
+     * @param profiles  the profiles to validate against, at least one.
+     * @return all violations found. Empty if the record is valid.
      */
-    private void validateValuesForKey(PIDRecord pidRecord, String attributeKey, TypeDefinition type)
-            throws RecordValidationException {
-        String[] values = pidRecord.getPropertyValues(attributeKey);
-        for (String value : values) {
-            if (value == null) {
-                LOG.error("'null' record value found for key {}.", attributeKey);
-                throw new RecordValidationException(
-                        pidRecord,
-                        String.format("Validation of value %s against type %s failed.",
-                                value,
-                                type.getIdentifier()));
-            }
+    protected List<Violation> collectViolations(PIDRecord pidRecord, List<TypeDefinition> profiles)
+            throws ExternalServiceException {
+        return planFor(pidRecord, profiles).collectViolations(pidRecord);
+    }
 
-            if (!type.validate(value)) {
-                LOG.error("Validation of value {} against type {} failed.", value, type.getIdentifier());
-                throw new RecordValidationException(
-                        pidRecord,
-                        String.format("Validation of value %s against type %s failed.",
-                                value,
-                                type.getIdentifier()));
-            }
+    /**
+     * Exceptions indicate failure. No Exceptions mean success.
+     * 
+     * The profiles are validated together, so each value is validated once,
+     * even if several profiles contain its attribute.
+     * 
+     * @param pidRecord the PID record to validate.
+     * @param profiles  the profiles to validate against, at least one.
+     * @throws RecordValidationException with error message on validation errors.
+     * @throws ExternalServiceException  if the type registry is unavailable.
+     */
+    protected void strictProfileValidation(PIDRecord pidRecord, List<TypeDefinition> profiles)
+            throws RecordValidationException, ExternalServiceException {
+        LOG.trace("Validating PID record against type definition(s).");
+        ValidationPlan plan = planFor(pidRecord, profiles);
+        try {
+            plan.validate(pidRecord);
+        } catch (RecordValidationException e) {
+            LOG.error("Validation against profile(s) {} failed: {}", plan.getProfileIdentifier(), e.getMessage());
+            throw e;
         }
     }
 }
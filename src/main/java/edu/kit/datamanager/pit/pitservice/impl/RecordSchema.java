@@ -0,0 +1,201 @@
+package edu.kit.datamanager.pit.pitservice.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+import edu.kit.datamanager.pit.common.RecordValidationException;
+import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.PropertyBinding;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.domain.Violation;
+import edu.kit.datamanager.pit.typeregistry.schema.DocumentValidator;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaEngine;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaViolation;
+
+/**
+ * The JSON schema of a profile, prepared for validating whole records in a
+ * single pass.
+ *
+ * Records are rendered into a JSON object with one property per attribute. The
+ * property is named like in the profile schema: by the identifier of the
+ * attribute, if the schema declares properties by identifier, and by the name
+ * of the attribute otherwise. Values of repeatable attributes (or attributes
+ * with multiple values) are rendered as arrays, values starting with `{` as
+ * JSON objects, and all other values as strings. The schema is compiled and
+ * records are validated by the configured schema engine.
+ */
+public final class RecordSchema {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+    /**
+     * Keywords which make a schema constrain JSON objects.
+     */
+    private static final Set<String> OBJECT_KEYWORDS = Set.of(
+            "properties", "required", "additionalProperties", "patternProperties",
+            "minProperties", "maxProperties", "dependencies", "propertyNames");
+
+    private final String profileIdentifier;
+    private final DocumentValidator schema;
+    private final Map<String, String> propertyNames;
+    private final Map<String, String> attributes;
+    private final Set<String> repeatableAttributes;
+
+    private RecordSchema(
+            String profileIdentifier,
+            DocumentValidator schema,
+            Map<String, String> propertyNames,
+            Set<String> repeatableAttributes) {
+        this.profileIdentifier = profileIdentifier;
+        this.schema = schema;
+        this.propertyNames = propertyNames;
+        this.repeatableAttributes = repeatableAttributes;
+        Map<String, String> inverse = new HashMap<>();
+        propertyNames.forEach((attribute, property) -> inverse.putIfAbsent(property, attribute));
+        this.attributes = inverse;
+    }
+
+    /**
+     * Prepares the schema of a profile for validating records.
+     *
+     * @param profile the profile definition.
+     * @param engine  the engine to compile the schema with.
+     * @return the record schema, or empty if the profile has no schema for whole
+     *         records (i.e. an object schema).
+     */
+    public static Optional<RecordSchema> compile(TypeDefinition profile, SchemaEngine engine) {
+        if (profile.getSchema() == null) {
+            return Optional.empty();
+        }
+        String source = profile.getSchema().getSource();
+        JsonNode objectSchema;
+        try {
+            objectSchema = MAPPER.readTree(source);
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+        if (!isObjectSchema(objectSchema)) {
+            return Optional.empty();
+        }
+        Set<String> declared = Sets.newHashSet(objectSchema.path("properties").fieldNames());
+        boolean byIdentifier = profile.getAllProperties().stream().anyMatch(declared::contains);
+
+        ImmutableMap.Builder<String, String> names = ImmutableMap.builder();
+        ImmutableSet.Builder<String> repeatable = ImmutableSet.builder();
+        for (PropertyBinding property : profile.getProperties().values()) {
+            String attribute = property.getIdentifier();
+            boolean hasName = property.getName() != null && !property.getName().isBlank();
+            names.put(attribute, byIdentifier || !hasName ? attribute : property.getName());
+            if (property.isRepeatable()) {
+                repeatable.add(attribute);
+            }
+        }
+        return Optional.of(new RecordSchema(
+                profile.getIdentifier(), engine.compileDocument(source), names.buildOrThrow(), repeatable.build()));
+    }
+
+    private static boolean isObjectSchema(JsonNode schema) {
+        if (!schema.isObject()) {
+            return false;
+        }
+        if (schema.has("type")) {
+            return "object".equals(schema.get("type").asText());
+        }
+        return OBJECT_KEYWORDS.stream().anyMatch(schema::has);
+    }
+
+    /**
+     * @param pidRecord the record.
+     * @return the record in the JSON shape the profile schema expects.
+     */
+    public Map<String, Object> render(PIDRecord pidRecord) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        int start = 0;
+        while (start < pidRecord.valueCount()) {
+            String attributeKey = pidRecord.keyAt(start);
+            int end = pidRecord.endOfAttribute(start);
+            String property = propertyNames.getOrDefault(attributeKey, attributeKey);
+            if (end - start == 1 && !repeatableAttributes.contains(attributeKey)) {
+                json.put(property, render(pidRecord.valueAt(start)));
+            } else {
+                List<Object> values = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    values.add(render(pidRecord.valueAt(i)));
+                }
+                json.put(property, values);
+            }
+            start = end;
+        }
+        return json;
+    }
+
+    private static Object render(String value) {
+        if (value != null && value.startsWith("{")) {
+            try {
+                return MAPPER.readValue(value, JSON_OBJECT);
+            } catch (IOException e) {
+                // not an object, so it is validated as a string
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Validates a record against the profile schema.
+     *
+     * @param pidRecord the record to validate.
+     * @throws RecordValidationException on the first violation found.
+     */
+    public void validate(PIDRecord pidRecord) throws RecordValidationException {
+        List<SchemaViolation> violations = schema.validate(render(pidRecord), true);
+        if (!violations.isEmpty()) {
+            throw new RecordValidationException(
+                    pidRecord,
+                    String.format("Validation against the schema of profile %s failed: %s",
+                            profileIdentifier,
+                            violations.get(0).message()));
+        }
+    }
+
+    /**
+     * Validates a record against the profile schema without stopping at the
+     * first violation.
+     *
+     * @param pidRecord the record to validate.
+     * @return all violations found. Empty if the record is valid.
+     */
+    public List<Violation> collectViolations(PIDRecord pidRecord) {
+        List<Violation> violations = new ArrayList<>();
+        for (SchemaViolation violation : schema.validate(render(pidRecord), false)) {
+            violations.add(new Violation(
+                    attributeOf(violation.property()), null, null, profileIdentifier, violation.message()));
+        }
+        return violations;
+    }
+
+    /**
+     * @param property a property of a rendered record.
+     * @return the attribute the property refers to, or null if the violation
+     *         refers to the whole record.
+     */
+    private String attributeOf(String property) {
+        if (property == null) {
+            return null;
+        }
+        return attributes.getOrDefault(property, property);
+    }
+}
@@ -1,6 +1,7 @@
 package edu.kit.datamanager.pit.pitservice.impl;
 
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import edu.kit.datamanager.pit.common.InvalidConfigException;
 import edu.kit.datamanager.pit.common.PidAlreadyExistsException;
 import edu.kit.datamanager.pit.common.PidNotFoundException;
@@ -11,13 +12,16 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import edu.kit.datamanager.pit.pidsystem.IIdentifierSystem;
 import edu.kit.datamanager.pit.typeregistry.ITypeRegistry;
 import edu.kit.datamanager.pit.pitservice.ITypingService;
 import edu.kit.datamanager.pit.pitservice.IValidationStrategy;
+import edu.kit.datamanager.pit.pitservice.ValidationMode;
 import edu.kit.datamanager.pit.common.ExternalServiceException;
+import edu.kit.datamanager.pit.domain.DateTypeIndex;
 import edu.kit.datamanager.pit.domain.Operations;
 import edu.kit.datamanager.pit.domain.PIDRecord;
 import edu.kit.datamanager.pit.domain.TypeDefinition;
@@ -42,6 +46,7 @@ public class TypingService implements ITypingService {
     protected final LoadingCache<String, TypeDefinition> typeCache;
     protected final IIdentifierSystem identifierSystem;
     protected final ITypeRegistry typeRegistry;
+    protected final DateTypeIndex dateTypes;
 
     /**
      * A validation strategy. Will never be null.
@@ -54,11 +59,12 @@ public class TypingService implements ITypingService {
     protected IValidationStrategy defaultStrategy = null;
 
     public TypingService(IIdentifierSystem identifierSystem, ITypeRegistry typeRegistry,
-            LoadingCache<String, TypeDefinition> typeCache) {
+            LoadingCache<String, TypeDefinition> typeCache, DateTypeIndex dateTypes) {
         super();
         this.identifierSystem = identifierSystem;
         this.typeRegistry = typeRegistry;
         this.typeCache = typeCache;
+        this.dateTypes = dateTypes;
     }
 
     @Override
@@ -77,6 +83,12 @@ public class TypingService implements ITypingService {
         this.defaultStrategy.validate(pidRecord);
     }
 
+    @Override
+    public void validate(PIDRecord pidRecord, ValidationMode mode)
+            throws RecordValidationException, ExternalServiceException {
+        this.defaultStrategy.validate(pidRecord, mode);
+    }
+
     @Override
     public boolean isIdentifierRegistered(String pid) throws ExternalServiceException {
         LOG.trace("Performing isIdentifierRegistered({}).", pid);
@@ -116,9 +128,22 @@ public class TypingService implements ITypingService {
         } catch (ExecutionException ex) {
             LOG.error("Failed to query for type with identifier " + typeIdentifier + ".", ex);
             throw new InvalidConfigException(LOG_MSG_TYPING_SERVICE_MISCONFIGURED);
+        } catch (UncheckedExecutionException ex) {
+            if (ex.getCause() instanceof TypeNotFoundException) {
+                // known to be missing in the type registry (see TypeDefinitionLoader)
+                LOG.debug("Identifier {} is not a known type.", typeIdentifier);
+                return null;
+            }
+            throw ex;
         }
     }
 
+    @Override
+    public Map<String, TypeDefinition> describeTypes(Collection<String> typeIdentifiers) throws IOException {
+        LOG.trace("Performing describeTypes({}).", typeIdentifiers);
+        return typeRegistry.queryTypeDefinitions(typeIdentifiers);
+    }
+
     @Override
     public PIDRecord queryAllProperties(String pid) throws PidNotFoundException, ExternalServiceException {
         LOG.trace("Performing queryAllProperties({}).", pid);
@@ -149,15 +174,7 @@ public class TypingService implements ITypingService {
         LOG.trace("Performing queryProperty({}, {}).", pid, propertyIdentifier);
         PIDRecord pidInfo = new PIDRecord();
         // query type registry
-        TypeDefinition typeDef;
-        try {
-            LOG.trace(LOG_MSG_QUERY_TYPE, propertyIdentifier);
-            typeDef = typeCache.get(propertyIdentifier);
-        } catch (ExecutionException ex) {
-            LOG.error(LOG_MSG_QUERY_TYPE, propertyIdentifier);
-
-            throw new InvalidConfigException(LOG_MSG_TYPING_SERVICE_MISCONFIGURED);
-        }
+        TypeDefinition typeDef = describeType(propertyIdentifier);
 
         if (typeDef != null) {
             pidInfo.addEntry(propertyIdentifier, typeDef.getName(), identifierSystem.queryProperty(pid, typeDef));
@@ -166,16 +183,12 @@ public class TypingService implements ITypingService {
         return null;
     }
 
-    private void enrichPIDInformationRecord(PIDRecord pidInfo) {
+    private void enrichPIDInformationRecord(PIDRecord pidInfo) throws IOException {
         // enrich record by querying type registry for all property definitions
         // to get the property names
+        Map<String, TypeDefinition> types = describeTypes(pidInfo.getPropertyIdentifiers());
         for (String typeIdentifier : pidInfo.getPropertyIdentifiers()) {
-            TypeDefinition typeDef;
-            try {
-                typeDef = typeCache.get(typeIdentifier);
-            } catch (ExecutionException ex) {
-                throw new InvalidConfigException(LOG_MSG_TYPING_SERVICE_MISCONFIGURED);
-            }
+            TypeDefinition typeDef = types.get(typeIdentifier);
 
             if (typeDef != null) {
                 pidInfo.setPropertyName(typeIdentifier, typeDef.getName());
@@ -188,12 +201,7 @@ public class TypingService implements ITypingService {
     @Override
     public PIDRecord queryByType(String pid, String typeIdentifier, boolean includePropertyNames)
             throws IOException {
-        TypeDefinition typeDef;
-        try {
-            typeDef = typeCache.get(typeIdentifier);
-        } catch (ExecutionException ex) {
-            throw new InvalidConfigException(LOG_MSG_TYPING_SERVICE_MISCONFIGURED);
-        }
+        TypeDefinition typeDef = describeType(typeIdentifier);
 
         if (typeDef == null) {
             return null;
@@ -225,7 +233,7 @@ public class TypingService implements ITypingService {
     }
 
     public Operations getOperations()  {
-        return new Operations(this);
+        return new Operations(this.typeCache, this.dateTypes);
     }
 
 }
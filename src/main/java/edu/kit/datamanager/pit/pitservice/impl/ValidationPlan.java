@@ -0,0 +1,346 @@
+package edu.kit.datamanager.pit.pitservice.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import edu.kit.datamanager.pit.common.RecordValidationException;
+import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.PropertyBinding;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.domain.Violation;
+
+/**
+ * The rules of a profile, prepared for validating many records quickly.
+ *
+ * A plan is compiled once per profile definition and is immutable. Validating a
+ * record against it (see `validate`) is a single pass over the values of the
+ * record in place (see `PIDRecord.valueCount`), which does not allocate unless
+ * the record is invalid. Only checking a value against its type may allocate,
+ * e.g. to remember the outcome (see `ValidationMemo`).
+ *
+ * - all mandatory attributes must be present
+ * - every attribute must be defined within the profile
+ * - every value must be valid according to the type of its attribute
+ *
+ * Records using several profiles are validated against a merged plan (see
+ * `merge`), so values shared by the profiles are validated only once.
+ */
+public final class ValidationPlan {
+
+    /**
+     * Records with at least this many values have their values checked in
+     * parallel by `collectViolations`. Below, the overhead of splitting the work
+     * outweighs the gain.
+     */
+    static final int PARALLEL_THRESHOLD = 64;
+
+    private final String profileIdentifier;
+    private final Set<String> mandatoryAttributes;
+    private final Map<String, TypeDefinition> attributeTypes;
+    /**
+     * Attributes which may have multiple values. Not enforced yet: validation
+     * has never rejected repeated values, and doing so would reject records
+     * accepted today.
+     */
+    private final Set<String> repeatableAttributes;
+    /**
+     * The plans this plan was merged from. Empty for plans of a single profile.
+     */
+    private final List<ValidationPlan> mergedPlans;
+
+    private ValidationPlan(
+            String profileIdentifier,
+            Set<String> mandatoryAttributes,
+            Map<String, TypeDefinition> attributeTypes,
+            Set<String> repeatableAttributes,
+            List<ValidationPlan> mergedPlans) {
+        this.profileIdentifier = profileIdentifier;
+        this.mandatoryAttributes = mandatoryAttributes;
+        this.attributeTypes = attributeTypes;
+        this.repeatableAttributes = repeatableAttributes;
+        this.mergedPlans = mergedPlans;
+    }
+
+    /**
+     * Compiles the validation plan of a profile.
+     *
+     * @param profile the profile definition.
+     * @return the validation plan.
+     */
+    public static ValidationPlan compile(TypeDefinition profile) {
+        ImmutableSet.Builder<String> mandatory = ImmutableSet.builder();
+        ImmutableMap.Builder<String, TypeDefinition> types = ImmutableMap.builder();
+        ImmutableSet.Builder<String> repeatable = ImmutableSet.builder();
+        for (PropertyBinding property : profile.getProperties().values()) {
+            String attribute = property.getIdentifier();
+            if (!property.isOptional()) {
+                mandatory.add(attribute);
+            }
+            if (property.isRepeatable()) {
+                repeatable.add(attribute);
+            }
+            types.put(attribute, property.getType());
+        }
+        return new ValidationPlan(
+                profile.getIdentifier(),
+                mandatory.build(),
+                types.buildOrThrow(),
+                repeatable.build(),
+                List.of());
+    }
+
+    /**
+     * Merges the plans of several profiles into one plan, which a record passes
+     * if and only if it passes each of the given plans.
+     *
+     * - mandatory attributes are the union of all mandatory attributes
+     * - allowed attributes are the intersection of all allowed attributes
+     *
+     * As an attribute identifier is also the identifier of its type, the
+     * profiles agree on the type of each allowed attribute.
+     *
+     * @param plans the plans to merge, at least one. Duplicates are ignored.
+     * @return the merged plan, or the given plan if there is only one.
+     */
+    public static ValidationPlan merge(Collection<ValidationPlan> plans) {
+        Set<ValidationPlan> distinct = new LinkedHashSet<>(plans);
+        if (distinct.size() == 1) {
+            return distinct.iterator().next();
+        }
+        ImmutableSet.Builder<String> mandatory = ImmutableSet.builder();
+        Map<String, TypeDefinition> types = null;
+        Set<String> repeatable = null;
+        for (ValidationPlan plan : distinct) {
+            mandatory.addAll(plan.mandatoryAttributes);
+            if (types == null) {
+                types = new LinkedHashMap<>(plan.attributeTypes);
+                repeatable = new LinkedHashSet<>(plan.repeatableAttributes);
+            } else {
+                types.keySet().retainAll(plan.attributeTypes.keySet());
+                repeatable.retainAll(plan.repeatableAttributes);
+            }
+        }
+        if (types == null) {
+            throw new IllegalArgumentException("At least one plan is required.");
+        }
+        return new ValidationPlan(
+                String.join(", ", distinct.stream().map(ValidationPlan::getProfileIdentifier).toList()),
+                mandatory.build(),
+                ImmutableMap.copyOf(types),
+                ImmutableSet.copyOf(repeatable),
+                ImmutableList.copyOf(distinct));
+    }
+
+    public String getProfileIdentifier() {
+        return profileIdentifier;
+    }
+
+    public Set<String> getMandatoryAttributes() {
+        return mandatoryAttributes;
+    }
+
+    /**
+     * @param attribute the identifier of an attribute.
+     * @return the type the values of the attribute must conform to, or null if the
+     *         attribute is not allowed in this profile.
+     */
+    public TypeDefinition getAttributeType(String attribute) {
+        return attributeTypes.get(attribute);
+    }
+
+    /**
+     * @param attribute the identifier of an attribute.
+     * @return true, if the profile allows multiple values for the attribute.
+     */
+    public boolean isRepeatable(String attribute) {
+        return repeatableAttributes.contains(attribute);
+    }
+
+    /**
+     * @param pidRecord a record.
+     * @return the attributes of the record which are not allowed by this plan.
+     */
+    public Set<String> unknownAttributes(PIDRecord pidRecord) {
+        Set<String> unknown = new LinkedHashSet<>();
+        int start = 0;
+        while (start < pidRecord.valueCount()) {
+            String attribute = pidRecord.keyAt(start);
+            if (!attributeTypes.containsKey(attribute)) {
+                unknown.add(attribute);
+            }
+            start = pidRecord.endOfAttribute(start);
+        }
+        return unknown;
+    }
+
+    /**
+     * Extends this plan by attributes which are not part of the profile(s).
+     *
+     * @param types the additional attributes and their types. Attributes
+     *              already allowed by this plan keep their type.
+     * @return the extended plan, or this plan if there are no additional
+     *         attributes.
+     */
+    public ValidationPlan withAdditionalTypes(Map<String, TypeDefinition> types) {
+        if (attributeTypes.keySet().containsAll(types.keySet())) {
+            return this;
+        }
+        Map<String, TypeDefinition> extended = new LinkedHashMap<>(types);
+        extended.putAll(attributeTypes);
+        return new ValidationPlan(
+                profileIdentifier,
+                mandatoryAttributes,
+                ImmutableMap.copyOf(extended),
+                repeatableAttributes,
+                mergedPlans);
+    }
+
+    /**
+     * Validates a record against this plan.
+     *
+     * @param pidRecord the record to validate.
+     * @throws RecordValidationException on the first violation found.
+     */
+    public void validate(PIDRecord pidRecord) throws RecordValidationException {
+        for (String attribute : mandatoryAttributes) {
+            if (!pidRecord.hasProperty(attribute)) {
+                throw new RecordValidationException(
+                        pidRecord,
+                        "Missing mandatory types: " + missingMandatoryAttributes(pidRecord));
+            }
+        }
+
+        int start = 0;
+        while (start < pidRecord.valueCount()) {
+            String attributeKey = pidRecord.keyAt(start);
+            int end = pidRecord.endOfAttribute(start);
+            TypeDefinition type = attributeTypes.get(attributeKey);
+            if (type == null) {
+                throw new RecordValidationException(
+                        pidRecord,
+                        String.format("Attribute %s is not allowed in profile %s",
+                                attributeKey,
+                                rejectingProfile(attributeKey)));
+            }
+            for (int i = start; i < end; i++) {
+                String value = pidRecord.valueAt(i);
+                if (value == null || !type.validate(value)) {
+                    throw new RecordValidationException(
+                            pidRecord,
+                            String.format("Validation of value %s against type %s failed.",
+                                    value,
+                                    type.getIdentifier()));
+                }
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Validates a record against this plan without stopping at the first
+     * violation. The values of large records are checked in parallel.
+     *
+     * @param pidRecord the record to validate.
+     * @return all violations found, missing attributes first. Empty if the
+     *         record is valid.
+     */
+    public List<Violation> collectViolations(PIDRecord pidRecord) {
+        List<Violation> violations = new ArrayList<>();
+        for (String attribute : missingMandatoryAttributes(pidRecord)) {
+            violations.add(new Violation(
+                    attribute, null, null, requiringProfile(attribute),
+                    String.format("Missing mandatory attribute %s", attribute)));
+        }
+
+        List<ValueCheck> checks = new ArrayList<>();
+        int start = 0;
+        while (start < pidRecord.valueCount()) {
+            String attributeKey = pidRecord.keyAt(start);
+            int end = pidRecord.endOfAttribute(start);
+            TypeDefinition type = attributeTypes.get(attributeKey);
+            if (type == null) {
+                String profile = rejectingProfile(attributeKey);
+                violations.add(new Violation(
+                        attributeKey, null, null, profile,
+                        String.format("Attribute %s is not allowed in profile %s",
+                                attributeKey,
+                                profile)));
+            } else {
+                for (int i = start; i < end; i++) {
+                    checks.add(new ValueCheck(attributeKey, type, pidRecord.valueAt(i)));
+                }
+            }
+            start = end;
+        }
+
+        Stream<ValueCheck> values = checks.size() >= PARALLEL_THRESHOLD
+                ? checks.parallelStream()
+                : checks.stream();
+        values.map(this::check)
+                .filter(Objects::nonNull)
+                .forEachOrdered(violations::add);
+        return violations;
+    }
+
+    private Violation check(ValueCheck check) {
+        String value = check.value();
+        TypeDefinition type = check.type();
+        if (value != null && type.validate(value)) {
+            return null;
+        }
+        return new Violation(
+                check.attribute(), value, type.getIdentifier(), profileIdentifier,
+                String.format("Validation of value %s against type %s failed.",
+                        value,
+                        type.getIdentifier()));
+    }
+
+    /**
+     * @return the identifier of the (first merged) profile requiring the given
+     *         attribute.
+     */
+    private String requiringProfile(String attribute) {
+        for (ValidationPlan plan : mergedPlans) {
+            if (plan.mandatoryAttributes.contains(attribute)) {
+                return plan.profileIdentifier;
+            }
+        }
+        return profileIdentifier;
+    }
+
+    /**
+     * @return the identifier of the (first merged) profile not allowing the
+     *         given attribute.
+     */
+    private String rejectingProfile(String attribute) {
+        for (ValidationPlan plan : mergedPlans) {
+            if (plan.getAttributeType(attribute) == null) {
+                return plan.profileIdentifier;
+            }
+        }
+        return profileIdentifier;
+    }
+
+    private record ValueCheck(String attribute, TypeDefinition type, String value) {}
+
+    private Collection<String> missingMandatoryAttributes(PIDRecord pidRecord) {
+        Collection<String> missing = new ArrayList<>();
+        for (String attribute : mandatoryAttributes) {
+            if (!pidRecord.hasProperty(attribute)) {
+                missing.add(attribute);
+            }
+        }
+        return missing;
+    }
+}
@@ -2,9 +2,13 @@ package edu.kit.datamanager.pit.typeregistry;
 
 import java.io.IOException;
 
+import edu.kit.datamanager.pit.common.TypeNotFoundException;
 import edu.kit.datamanager.pit.domain.TypeDefinition;
 
 import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Main abstraction interface towards the type registry. Contains all methods
@@ -21,4 +25,34 @@ public interface ITypeRegistry {
      * @throws IOException on communication errors with a remote registry
      */
     public TypeDefinition queryTypeDefinition(String typeIdentifier) throws IOException, URISyntaxException;
+
+    /**
+     * Queries multiple type definition records from the type registry.
+     * 
+     * The default implementation queries them one after another.
+     * Implementations should override it to query them concurrently or with a
+     * single request, if the registry supports it.
+     *
+     * @param typeIdentifiers the identifiers of the types.
+     * @return the type definition records by identifier. Identifiers which are
+     *         not registered as types are omitted.
+     * @throws IOException on communication errors with a remote registry
+     */
+    public default Map<String, TypeDefinition> queryTypeDefinitions(Collection<String> typeIdentifiers)
+            throws IOException {
+        Map<String, TypeDefinition> result = new HashMap<>();
+        for (String typeIdentifier : typeIdentifiers) {
+            try {
+                TypeDefinition type = queryTypeDefinition(typeIdentifier);
+                if (type != null) {
+                    result.put(typeIdentifier, type);
+                }
+            } catch (TypeNotFoundException e) {
+                // not a type, omit it
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid type registry URI.", e);
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,107 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A second cache level for type definitions, stored in the database and
+ * therefore shared between all instances of this service.
+ *
+ * If a type is not in the (local) type cache, it is taken from here as long as
+ * another instance fetched it from the type registry within the lifetime.
+ * Otherwise, it is fetched from the type registry and stored here for the other
+ * instances. Database errors are logged and the type registry is used instead.
+ */
+public class SharedTypeCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedTypeCache.class);
+
+    private static final String METRIC_REQUESTS = "pit.typeregistry.cache.shared.requests";
+    private static final String TAG_RESULT = "result";
+
+    private final SharedTypeDefinitionDao dao;
+    private final Duration lifetime;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param dao           access to the stored definitions. If null, the cache is
+     *                      disabled and does nothing.
+     * @param lifetime      the time a stored definition may be used after it was
+     *                      fetched from the type registry.
+     * @param meterRegistry registry to report hits and misses to.
+     */
+    public SharedTypeCache(SharedTypeDefinitionDao dao, Duration lifetime, MeterRegistry meterRegistry) {
+        this.dao = dao;
+        this.lifetime = lifetime;
+        this.hits = Counter.builder(METRIC_REQUESTS)
+                .description("Requests to the shared (database) type cache.")
+                .tag(TAG_RESULT, "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_REQUESTS)
+                .description("Requests to the shared (database) type cache.")
+                .tag(TAG_RESULT, "miss")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return this.dao != null;
+    }
+
+    /**
+     * Returns the stored definition of a type, if it was fetched within the
+     * lifetime.
+     *
+     * @param typeIdentifier the identifier of the type.
+     * @return the JSON definition, or empty if there is no recent one.
+     */
+    public Optional<JsonNode> get(String typeIdentifier) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Optional<JsonNode> result = Optional.empty();
+        try {
+            Instant oldest = Instant.now().minus(lifetime);
+            Optional<SharedTypeDefinition> stored = dao.findById(typeIdentifier)
+                    .filter(type -> type.getFetched() != null && type.getFetched().isAfter(oldest));
+            if (stored.isPresent()) {
+                result = Optional.of(mapper.readTree(stored.get().getDefinition()));
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            LOG.warn("Could not read shared definition of type {}: {}", typeIdentifier, e.getMessage());
+        }
+        (result.isPresent() ? hits : misses).increment();
+        return result;
+    }
+
+    /**
+     * Stores the definition of a type, which was just fetched from the type
+     * registry.
+     *
+     * @param typeIdentifier the identifier of the type.
+     * @param json           the JSON definition.
+     */
+    public void put(String typeIdentifier, JsonNode json) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            dao.save(new SharedTypeDefinition(typeIdentifier, mapper.writeValueAsString(json), Instant.now()));
+        } catch (DataAccessException | JsonProcessingException e) {
+            LOG.warn("Could not share definition of type {}: {}", typeIdentifier, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The raw JSON of a type definition as fetched from the type registry, stored
+ * in the database to share it between all instances of this service (see
+ * `SharedTypeCache`).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class SharedTypeDefinition {
+
+    @Id
+    @Column(name = "identifier")
+    private String identifier;
+
+    /**
+     * The JSON definition. Uses the same column length as the entries of
+     * `PidDatabaseObject`, which is supported by all databases we know of.
+     */
+    @Column(length = 65_535)
+    private String definition;
+
+    /**
+     * When the definition was fetched from the type registry.
+     */
+    private Instant fetched;
+}
@@ -0,0 +1,9 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Object to access shared type definitions from the database.
+ */
+public interface SharedTypeDefinitionDao extends JpaRepository<SharedTypeDefinition, String> {
+}
@@ -0,0 +1,70 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Reports the types with the slowest loads, each tagged with its identifier.
+ *
+ * Only the slowest `limit` types are kept, so the amount of reported time series
+ * stays bounded, no matter how many types are loaded.
+ */
+class SlowestTypeLoads {
+
+    static final String METRIC = "pit.typeregistry.cache.load.slowest";
+    static final String TAG_TYPE = "type";
+
+    private final int limit;
+    private final MultiGauge gauge;
+    /** The slowest load duration in nanoseconds for each type. Guarded by this. */
+    private final Map<String, Long> slowest = new HashMap<>();
+    /** The fastest duration within `slowest`, once it is full. */
+    private long threshold = 0;
+
+    /**
+     * @param limit         the amount of types to report. If not positive, nothing
+     *                      is reported.
+     * @param meterRegistry the registry to report to.
+     */
+    SlowestTypeLoads(int limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.gauge = MultiGauge.builder(METRIC)
+                .description("Slowest loads of type definitions by type.")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    synchronized void record(String typeIdentifier, long durationNanos) {
+        if (limit <= 0) {
+            return;
+        }
+        boolean isFull = slowest.size() >= limit;
+        if (isFull && durationNanos <= threshold && !slowest.containsKey(typeIdentifier)) {
+            return;
+        }
+        Long previous = slowest.get(typeIdentifier);
+        if (previous != null && previous >= durationNanos) {
+            return;
+        }
+        slowest.put(typeIdentifier, durationNanos);
+        if (slowest.size() > limit) {
+            slowest.remove(Collections.min(slowest.entrySet(), Map.Entry.comparingByValue()).getKey());
+        }
+        if (slowest.size() >= limit) {
+            threshold = Collections.min(slowest.values());
+        }
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(slowest.size());
+        slowest.forEach((type, nanos) -> rows.add(MultiGauge.Row.of(
+                Tags.of(TAG_TYPE, type),
+                (double) nanos / TimeUnit.SECONDS.toNanos(1))));
+        gauge.register(rows, true);
+    }
+}
@@ -0,0 +1,135 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+
+/**
+ * Fills the type cache on startup, before the application starts serving
+ * requests or executing CLI tasks.
+ *
+ * Types stored in the `TypeSnapshotStore` are loaded from disk. Afterwards,
+ * they are refreshed from the type registry in the background. Additionally,
+ * the configured types and profiles are resolved (recursively) from the type
+ * registry. All types are loaded in parallel.
+ *
+ * Spring Boot reports the readiness state `ACCEPTING_TRAFFIC` only after all
+ * application runners finished. The warm-up therefore delays readiness until
+ * it is done, but at most for the given timeout. Loads which did not finish in
+ * time continue in the background.
+ */
+public class TypeCacheWarmup implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TypeCacheWarmup.class);
+
+    private final LoadingCache<String, TypeDefinition> typeCache;
+    private final TypeSnapshotStore snapshotStore;
+    private final Collection<String> typeIdentifiers;
+    private final Duration timeout;
+    private final int parallelism;
+
+    /**
+     * @param typeCache       the cache to fill.
+     * @param snapshotStore   the store of snapshots from previous runs.
+     * @param typeIdentifiers types and profiles to load in any case.
+     * @param timeout         the maximum time to wait for the warm-up.
+     * @param parallelism     the maximum amount of types to load concurrently.
+     */
+    public TypeCacheWarmup(
+            LoadingCache<String, TypeDefinition> typeCache,
+            TypeSnapshotStore snapshotStore,
+            Collection<String> typeIdentifiers,
+            Duration timeout,
+            int parallelism) {
+        this.typeCache = typeCache;
+        this.snapshotStore = snapshotStore;
+        this.typeIdentifiers = typeIdentifiers == null ? List.of() : typeIdentifiers;
+        this.timeout = timeout;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Set<String> snapshots = Set.of();
+        if (snapshotStore.isEnabled()) {
+            try {
+                snapshots = snapshotStore.beginWarmStart();
+            } catch (IOException e) {
+                LOG.warn("Could not read type snapshots. Loading from type registry. Reason: {}", e.getMessage());
+            }
+        }
+        Set<String> toLoad = new LinkedHashSet<>(snapshots);
+        toLoad.addAll(typeIdentifiers);
+        if (toLoad.isEmpty()) {
+            return;
+        }
+
+        LOG.info("Warming up type cache with {} types ({} from snapshots).", toLoad.size(), snapshots.size());
+        try {
+            loadAll(toLoad);
+        } finally {
+            snapshotStore.endWarmStart();
+        }
+        // Revalidate snapshots against the type registry without blocking the startup.
+        // Refreshing a type which is not cached would load it on this thread, so types
+        // which failed or are still loading are left to their regular refresh.
+        snapshots.stream()
+                .filter(typeCache.asMap()::containsKey)
+                .forEach(typeCache::refresh);
+    }
+
+    private void loadAll(Set<String> toLoad) {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(parallelism, toLoad.size()),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("type-warmup-%d")
+                        .setDaemon(true)
+                        .build());
+        AtomicInteger loaded = new AtomicInteger();
+        CompletableFuture<?>[] loads = toLoad.stream()
+                .map(typeIdentifier -> CompletableFuture.runAsync(() -> {
+                    try {
+                        typeCache.get(typeIdentifier);
+                        loaded.incrementAndGet();
+                    } catch (ExecutionException | UncheckedExecutionException e) {
+                        LOG.warn("Could not load type {} during warm-up: {}", typeIdentifier, e.getMessage());
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+        executor.shutdown();
+
+        try {
+            CompletableFuture.allOf(loads).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            LOG.info("Type cache warm-up finished. Loaded {} of {} types.", loaded.get(), toLoad.size());
+        } catch (TimeoutException e) {
+            LOG.warn("Type cache warm-up did not finish within {}. Loaded {} of {} types, continuing in background.",
+                    timeout, loaded.get(), toLoad.size());
+        } catch (ExecutionException e) {
+            LOG.warn("Type cache warm-up failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Type cache warm-up was interrupted.");
+        }
+    }
+}
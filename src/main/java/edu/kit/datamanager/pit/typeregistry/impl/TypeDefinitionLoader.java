@@ -0,0 +1,191 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import edu.kit.datamanager.pit.common.TypeNotFoundException;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.typeregistry.ITypeRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Loads type definitions into the type cache (see `Application::typeLoader`).
+ *
+ * Initial loads happen synchronously in the calling thread. Reloads (refreshes)
+ * of existing entries are executed asynchronously on a small, bounded executor.
+ * While a reload is running, or if it failed, the cache keeps serving the
+ * previous definition until it finally expires.
+ *
+ * Identifiers the type registry does not know (or only with a malformed
+ * definition) are remembered for a short time in a separate, bounded negative
+ * cache. Loading them again fails with the same `TypeNotFoundException` without
+ * contacting the type registry. Note that the type cache wraps this exception
+ * into an `UncheckedExecutionException`.
+ *
+ * The duration of each load from the type registry is reported with
+ * percentiles, and the slowest types are reported with their identifier.
+ */
+public class TypeDefinitionLoader extends CacheLoader<String, TypeDefinition> implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TypeDefinitionLoader.class);
+
+    private static final String METRIC_REFRESH = "pit.typeregistry.cache.refresh";
+    private static final String METRIC_NEGATIVE_HITS = "pit.typeregistry.cache.negative.hits";
+    private static final String METRIC_LOAD = "pit.typeregistry.cache.load";
+    private static final String TAG_RESULT = "result";
+
+    private final Supplier<ITypeRegistry> typeRegistry;
+    private final ExecutorService refreshExecutor;
+    private final Counter refreshSuccess;
+    private final Counter refreshFailure;
+    private final Cache<String, TypeNotFoundException> unknownTypes;
+    private final Counter negativeHits;
+    private final Timer loadSuccess;
+    private final Timer loadNotFound;
+    private final Timer loadFailure;
+    private final SlowestTypeLoads slowestLoads;
+
+    /**
+     * @param typeRegistry     the registry to load type definitions from. It is
+     *                         only obtained on the first load, as the registry
+     *                         itself depends on the type cache.
+     * @param refreshThreads   the maximum amount of concurrent reloads.
+     * @param refreshQueueSize the maximum amount of reloads waiting for execution.
+     *                         Further reloads will be rejected and retried on the
+     *                         next access of the entry.
+     * @param unknownTypesSize the maximum amount of remembered unknown
+     *                         identifiers.
+     * @param unknownTypesTtl  the seconds to remember an unknown identifier.
+     * @param slowestLoads     the amount of types with the slowest loads to
+     *                         report with their identifier.
+     * @param meterRegistry    registry to report loads, refreshes and failures
+     *                         to.
+     */
+    public TypeDefinitionLoader(
+            Supplier<ITypeRegistry> typeRegistry,
+            int refreshThreads,
+            int refreshQueueSize,
+            int unknownTypesSize,
+            long unknownTypesTtl,
+            int slowestLoads,
+            MeterRegistry meterRegistry) {
+        this.typeRegistry = typeRegistry;
+        int threads = Math.max(1, refreshThreads);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, refreshQueueSize)),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("type-refresh-%d")
+                        .setDaemon(true)
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+        this.refreshExecutor = executor;
+        this.refreshSuccess = Counter.builder(METRIC_REFRESH)
+                .description("Asynchronous reloads of cached type definitions.")
+                .tag(TAG_RESULT, "success")
+                .register(meterRegistry);
+        this.refreshFailure = Counter.builder(METRIC_REFRESH)
+                .description("Asynchronous reloads of cached type definitions.")
+                .tag(TAG_RESULT, "failure")
+                .register(meterRegistry);
+        this.unknownTypes = CacheBuilder.newBuilder()
+                .maximumSize(unknownTypesSize)
+                .expireAfterWrite(unknownTypesTtl, TimeUnit.SECONDS)
+                .build();
+        this.negativeHits = Counter.builder(METRIC_NEGATIVE_HITS)
+                .description("Loads of type definitions answered by the negative cache.")
+                .register(meterRegistry);
+        this.loadSuccess = loadTimer("success", meterRegistry);
+        this.loadNotFound = loadTimer("notfound", meterRegistry);
+        this.loadFailure = loadTimer("failure", meterRegistry);
+        this.slowestLoads = new SlowestTypeLoads(slowestLoads, meterRegistry);
+    }
+
+    private static Timer loadTimer(String result, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_LOAD)
+                .description("Loads of type definitions from the type registry, including their sub-types.")
+                .tag(TAG_RESULT, result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TypeDefinition load(String typeIdentifier) throws IOException, URISyntaxException {
+        TypeNotFoundException knownMissing = unknownTypes.getIfPresent(typeIdentifier);
+        if (knownMissing != null) {
+            LOG.trace("Type {} is known to be missing in the type registry.", typeIdentifier);
+            negativeHits.increment();
+            throw knownMissing;
+        }
+        LOG.trace("Loading type definition for identifier {} to cache.", typeIdentifier);
+        long start = System.nanoTime();
+        Timer timer = loadFailure;
+        try {
+            TypeDefinition type = typeRegistry.get().queryTypeDefinition(typeIdentifier);
+            timer = loadSuccess;
+            return type;
+        } catch (TypeNotFoundException e) {
+            timer = loadNotFound;
+            unknownTypes.put(typeIdentifier, e);
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - start;
+            timer.record(duration, TimeUnit.NANOSECONDS);
+            slowestLoads.record(typeIdentifier, duration);
+        }
+    }
+
+    @Override
+    public ListenableFuture<TypeDefinition> reload(String typeIdentifier, TypeDefinition oldValue) {
+        LOG.trace("Scheduling refresh of type definition for identifier {}.", typeIdentifier);
+        ListenableFutureTask<TypeDefinition> task = ListenableFutureTask.create(() -> {
+            try {
+                TypeDefinition fresh = load(typeIdentifier);
+                refreshSuccess.increment();
+                return fresh;
+            } catch (Exception e) {
+                refreshFailure.increment();
+                LOG.warn("Refreshing type {} failed. Serving cached definition until it expires. Reason: {}",
+                        typeIdentifier, e.getMessage());
+                throw e;
+            }
+        });
+        try {
+            refreshExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            refreshFailure.increment();
+            LOG.warn("Refresh queue is full. Refreshing type {} will be retried on next access.", typeIdentifier);
+            return Futures.immediateFailedFuture(e);
+        }
+        return task;
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -1,29 +1,62 @@
 package edu.kit.datamanager.pit.typeregistry.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import edu.kit.datamanager.pit.common.TypeNotFoundException;
 import edu.kit.datamanager.pit.configuration.ApplicationProperties;
+import edu.kit.datamanager.pit.domain.DateTypeIndex;
+import edu.kit.datamanager.pit.domain.PropertyBinding;
 import edu.kit.datamanager.pit.domain.ProvenanceInformation;
 import edu.kit.datamanager.pit.domain.TypeDefinition;
 import edu.kit.datamanager.pit.typeregistry.ITypeRegistry;
+import edu.kit.datamanager.pit.typeregistry.impl.TypeSnapshotStore.Snapshot;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaCompiler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.URISyntaxException;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import jakarta.annotation.PostConstruct;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.methods.HttpGet;
+import org.everit.json.schema.SchemaException;
+import org.json.JSONException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 /**
@@ -40,12 +73,230 @@ public class TypeRegistry implements ITypeRegistry {
     public LoadingCache<String, TypeDefinition> typeCache;
     @Autowired
     private ApplicationProperties applicationProperties;
+    @Autowired
+    private TypeSnapshotStore snapshotStore;
+    @Autowired
+    private SharedTypeCache sharedCache;
+
+    @Autowired
+    private HttpClient httpClient;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private SchemaCompiler schemaCompiler;
+    @Autowired
+    private DateTypeIndex dateTypeIndex;
+
+    private final ObjectMapper mapper = new ObjectMapper();
 
-    protected RestTemplate restTemplate = new RestTemplate();
+    /**
+     * The validators and content of the last response for each type. They are
+     * used to revalidate a type with a conditional request, so an unchanged type
+     * does not have to be transferred again.
+     */
+    private Cache<String, CachedResponse> lastResponses;
+
+    private record CachedResponse(String etag, String lastModified, JsonNode content) {}
+
+    /**
+     * Executes the resolution of sub-types concurrently.
+     * 
+     * Resolving a sub-type may require resolving its own sub-types, so tasks of
+     * this executor may wait for other tasks of this executor. A fixed-size pool
+     * could therefore starve. The amount of concurrent requests towards the
+     * registry is limited by `registryRequestLimit` instead.
+     */
+    protected final ExecutorService subTypeExecutor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                    .setNameFormat("type-resolver-%d")
+                    .setDaemon(true)
+                    .build());
+
+    /**
+     * The fetches of type definitions currently running, so concurrent
+     * resolutions of the same type share a single fetch.
+     */
+    private final Map<String, CompletableFuture<JsonNode>> inFlightFetches = new ConcurrentHashMap<>();
 
+    private Semaphore registryRequestLimit;
+
+    @PostConstruct
+    void init() {
+        int permits = Math.max(1, applicationProperties.getMaxConcurrentRequests());
+        this.registryRequestLimit = new Semaphore(permits);
+        Gauge.builder("pit.typeregistry.requests.active", registryRequestLimit,
+                limit -> permits - limit.availablePermits())
+                .description("Requests towards the type registry currently in flight.")
+                .register(meterRegistry);
+        Gauge.builder("pit.typeregistry.requests.waiting", registryRequestLimit, Semaphore::getQueueLength)
+                .description("Requests towards the type registry waiting for a free slot.")
+                .register(meterRegistry);
+        this.lastResponses = CacheBuilder.newBuilder()
+                .maximumSize(applicationProperties.getMaximumSize())
+                .build();
+    }
+
+    /**
+     * Resolves a type and all of its (transitive) sub-types.
+     * 
+     * The type graph is resolved in two phases, without loading any other key of
+     * the type cache, so this method may safely be used by the cache loader:
+     * 
+     * 1. The definitions are fetched level by level (breadth-first). All types of
+     * a level are fetched concurrently. Types which are already cached or were
+     * already fetched on a previous level are not fetched again. This way,
+     * (transitively) self-referencing types do not lead to endless recursion.
+     * 2. All fetched types are constructed once, even if referenced along
+     * multiple paths. Their property bindings refer to their sub-types by
+     * identifier within the resolved type graph.
+     * 
+     * Afterwards, the sub-types are added to the type cache, if they are not
+     * cached yet. The given type itself is not, as this is the task of the cache
+     * loader. All constructed types are added to the `DateTypeIndex`.
+     */
     @Override
     public TypeDefinition queryTypeDefinition(String typeIdentifier) throws IOException, URISyntaxException {
         LOG.trace("Performing queryTypeDefinition({}).", typeIdentifier);
+        Map<String, JsonNode> fetched = new HashMap<>();
+        Map<String, TypeDefinition> resolved = new HashMap<>();
+        Set<String> level = Set.of(typeIdentifier);
+        while (!level.isEmpty()) {
+            fetched.putAll(fetchLevel(typeIdentifier, level));
+            Set<String> nextLevel = new HashSet<>();
+            for (String fetchedIdentifier : level) {
+                for (JsonNode property : validProperties(fetched.get(fetchedIdentifier))) {
+                    String subTypeIdentifier = property.get("identifier").asText();
+                    if (fetched.containsKey(subTypeIdentifier) || resolved.containsKey(subTypeIdentifier)) {
+                        continue;
+                    }
+                    TypeDefinition cached = typeCache.getIfPresent(subTypeIdentifier);
+                    if (cached != null) {
+                        resolved.put(subTypeIdentifier, cached);
+                    } else {
+                        nextLevel.add(subTypeIdentifier);
+                    }
+                }
+            }
+            level = nextLevel;
+        }
+
+        LOG.trace("Constructing {} type definitions for type {}.", fetched.size(), typeIdentifier);
+        Map<String, TypeDefinition> constructed = new HashMap<>();
+        for (Map.Entry<String, JsonNode> type : fetched.entrySet()) {
+            try {
+                constructed.put(type.getKey(), constructTypeDefinition(type.getValue(), resolved));
+            } catch (TypeNotFoundException e) {
+                if (type.getKey().equals(typeIdentifier)) {
+                    throw e;
+                }
+                throw new IOException("Sub-type " + type.getKey() + " of type " + typeIdentifier + " is invalid.", e);
+            }
+        }
+        // completes the type graph the property bindings refer to
+        resolved.putAll(constructed);
+        constructed.values().forEach(dateTypeIndex::add);
+        fetched.keySet().stream()
+                .filter(identifier -> !identifier.equals(typeIdentifier))
+                .forEach(identifier -> typeCache.asMap().putIfAbsent(identifier, resolved.get(identifier)));
+        return resolved.get(typeIdentifier);
+    }
+
+    /**
+     * Fetches the JSON definitions of one level of the type graph concurrently.
+     * 
+     * @param rootIdentifier  the type whose graph is being resolved.
+     * @param typeIdentifiers the types to fetch.
+     * @return the JSON definition of each type.
+     * @throws TypeNotFoundException if the root type itself does not exist.
+     * @throws IOException           if any of the types could not be fetched.
+     */
+    private Map<String, JsonNode> fetchLevel(String rootIdentifier, Set<String> typeIdentifiers)
+            throws IOException, URISyntaxException {
+        Map<String, CompletableFuture<JsonNode>> pending = new HashMap<>();
+        typeIdentifiers.forEach(identifier -> pending.put(identifier, fetchOnce(identifier)));
+        Map<String, JsonNode> result = new HashMap<>();
+        try {
+            for (Map.Entry<String, CompletableFuture<JsonNode>> task : pending.entrySet()) {
+                try {
+                    result.put(task.getKey(), task.getValue().get());
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (task.getKey().equals(rootIdentifier)) {
+                        if (cause instanceof RuntimeException runtimeException) {
+                            throw runtimeException;
+                        } else if (cause instanceof URISyntaxException uriException) {
+                            throw uriException;
+                        }
+                    } else if (cause instanceof TypeNotFoundException) {
+                        throw new IOException(
+                                "Sub-type " + task.getKey() + " of type " + rootIdentifier + " not found.", cause);
+                    }
+                    if (cause instanceof IOException ioException) {
+                        throw ioException;
+                    }
+                    throw new IOException("Failed to obtain type definition of " + task.getKey() + ".", cause);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while resolving type " + rootIdentifier + ".", ex);
+        }
+        return result;
+    }
+
+    /**
+     * Fetches the JSON definition of a type asynchronously. Concurrent calls for
+     * the same type (e.g. from profiles sharing sub-types) share a single fetch.
+     */
+    private CompletableFuture<JsonNode> fetchOnce(String typeIdentifier) {
+        CompletableFuture<JsonNode> created = new CompletableFuture<>();
+        CompletableFuture<JsonNode> running = inFlightFetches.putIfAbsent(typeIdentifier, created);
+        if (running != null) {
+            return running;
+        }
+        subTypeExecutor.execute(() -> {
+            JsonNode json = null;
+            Exception failure = null;
+            try {
+                json = obtainTypeJson(typeIdentifier);
+            } catch (Exception e) {
+                failure = e;
+            }
+            inFlightFetches.remove(typeIdentifier, created);
+            if (failure == null) {
+                created.complete(json);
+            } else {
+                created.completeExceptionally(failure);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Obtains the JSON definition of a single type, from a snapshot, the shared
+     * cache or the type registry.
+     * 
+     * @param typeIdentifier the identifier of the type.
+     * @return the JSON definition, containing at least an identifier.
+     */
+    private JsonNode obtainTypeJson(String typeIdentifier) throws IOException, URISyntaxException {
+        Optional<Snapshot> snapshot = snapshotStore.takeForWarmStart(typeIdentifier);
+        if (snapshot.isPresent()) {
+            LOG.trace("Using snapshot of type {}.", typeIdentifier);
+            Snapshot stored = snapshot.get();
+            if (stored.hasValidators()) {
+                // the next fetch revalidates the snapshot with a conditional request
+                lastResponses.asMap().putIfAbsent(typeIdentifier,
+                        new CachedResponse(stored.etag(), stored.lastModified(), stored.content()));
+            }
+            return stored.content();
+        }
+        Optional<JsonNode> shared = sharedCache.get(typeIdentifier);
+        if (shared.isPresent()) {
+            LOG.trace("Using shared definition of type {}.", typeIdentifier);
+            snapshotStore.store(typeIdentifier, new Snapshot(shared.get()));
+            return shared.get();
+        }
         String[] segments = typeIdentifier.split("/");
         UriComponentsBuilder uriBuilder = UriComponentsBuilder
                 .fromUri(
@@ -54,94 +305,108 @@ public class TypeRegistry implements ITypeRegistry {
                                 .toURI())
                 .pathSegment(segments);
         LOG.trace("Querying for type definition at URI {}.", uriBuilder);
-        ResponseEntity<String> response = restTemplate.exchange(uriBuilder.build().toUri(), HttpMethod.GET,
-                HttpEntity.EMPTY, String.class);
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode rootNode = mapper.readTree(response.getBody());
-        LOG.trace("Constructing type definition from response.");
-        return constructTypeDefinition(rootNode);
+        CachedResponse response = fetchTypeJson(typeIdentifier, uriBuilder.build().toUri());
+        JsonNode rootNode = response.content();
+        if (rootNode == null || !rootNode.has("identifier")) {
+            LOG.warn("Type registry returned a definition without identifier for type {}.", typeIdentifier);
+            throw new TypeNotFoundException(typeIdentifier);
+        }
+        sharedCache.put(typeIdentifier, rootNode);
+        snapshotStore.store(typeIdentifier, new Snapshot(rootNode, response.etag(), response.lastModified()));
+        return rootNode;
+    }
+
+    /**
+     * Fetches the JSON definition of a type from the type registry.
+     * 
+     * If the type was fetched before, the request is conditional. If the type
+     * did not change, the registry answers with 304 and the previous content is
+     * reused.
+     * 
+     * @param typeIdentifier the identifier of the type.
+     * @param uri            the location of the type definition.
+     * @return the parsed JSON definition with the validators of the response.
+     * @throws TypeNotFoundException if the type does not exist or is not valid
+     *                               JSON.
+     * @throws IOException           on communication errors or unexpected
+     *                               responses.
+     */
+    private CachedResponse fetchTypeJson(String typeIdentifier, URI uri) throws IOException {
+        HttpGet request = new HttpGet(uri);
+        request.setHeader(HttpHeaders.ACCEPT, "application/json");
+        CachedResponse previous = lastResponses.getIfPresent(typeIdentifier);
+        if (previous != null) {
+            if (previous.etag() != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, previous.etag());
+            }
+            if (previous.lastModified() != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+            }
+        }
+
+        try {
+            registryRequestLimit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to query type " + typeIdentifier + ".", e);
+        }
+        try {
+            return httpClient.execute(request, response -> {
+                int status = response.getStatusLine().getStatusCode();
+                if (status == HttpStatus.SC_NOT_MODIFIED && previous != null) {
+                    LOG.trace("Type {} was not modified.", typeIdentifier);
+                    return previous;
+                }
+                if (status == HttpStatus.SC_NOT_FOUND) {
+                    LOG.debug("Type {} not found in type registry.", typeIdentifier);
+                    throw new TypeNotFoundException(typeIdentifier);
+                }
+                HttpEntity entity = response.getEntity();
+                if (status != HttpStatus.SC_OK || entity == null) {
+                    throw new HttpResponseException(status, "Unexpected response for type " + typeIdentifier + ".");
+                }
+                JsonNode content;
+                try (InputStream body = entity.getContent()) {
+                    content = mapper.readTree(body);
+                } catch (JsonProcessingException e) {
+                    LOG.warn("Type registry returned malformed JSON for type {}: {}", typeIdentifier, e.getMessage());
+                    throw new TypeNotFoundException(typeIdentifier);
+                }
+                CachedResponse fetched = new CachedResponse(
+                        headerValue(response, HttpHeaders.ETAG),
+                        headerValue(response, HttpHeaders.LAST_MODIFIED),
+                        content);
+                lastResponses.put(typeIdentifier, fetched);
+                return fetched;
+            });
+        } finally {
+            registryRequestLimit.release();
+        }
+    }
+
+    private static String headerValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header == null ? null : header.getValue();
     }
 
     /**
      * Helper method to construct a type definition from a JSON response
      * received from the TypeRegistry.
      *
-     * @param rootNode The type definition.
+     * @param rootNode  The type definition.
+     * @param typeGraph The type graph to look up sub-types in. It may be
+     *                  completed after construction.
      *
      * @return The TypeDefinition as object.
      */
-    private TypeDefinition constructTypeDefinition(JsonNode rootNode)
-            throws JsonProcessingException, IOException, URISyntaxException {
+    private TypeDefinition constructTypeDefinition(JsonNode rootNode, Map<String, TypeDefinition> typeGraph)
+            throws IOException {
         // TODO We are doing things too complicated here. Deserialization should be
         // easy.
         // But before we change the domain model to do so, we need a lot of tests to
         // make sure things work as before after the changes.
         LOG.trace("Performing constructTypeDefinition(<rootNode>).");
         JsonNode entry = rootNode;
-        Map<String, TypeDefinition> properties = new HashMap<>();
-        LOG.trace("Checking for 'properties' attribute.");
-        if (entry.has("properties")) {
-            LOG.trace("'properties' attribute found. Transferring properties to type definition.");
-            for (JsonNode entryKV : entry.get("properties")) {
-                LOG.trace("Checking for 'name' property.");
-                if (!entryKV.has("name")) {
-                    LOG.trace("No 'name' property found. Skipping property {}.", entryKV);
-                    continue;
-                }
-
-                String key = entryKV.get("name").asText();
-
-                if (!entryKV.has("identifier")) {
-                    LOG.trace("No 'identifier' property found. Skipping property {}.", entryKV);
-                    continue;
-                }
-
-                String value = entryKV.get("identifier").asText();
-                LOG.trace("Creating type definition instance for identifier {}.", value);
-                TypeDefinition type_def;
-
-                try {
-                    type_def = typeCache.get(value);
-                } catch (ExecutionException ex) {
-                    throw new IOException("Failed to obtain type definition via cache.", ex);
-                }
-
-                LOG.trace("Checking for sub-types in 'representationsAndSemantics' property.");
-                if (entryKV.has("representationsAndSemantics")) {
-                    LOG.trace(
-                            "'representationsAndSemantics' attribute found. Transferring properties to type definition.");
-                    JsonNode semNode = entryKV.get("representationsAndSemantics");
-                    semNode = semNode.get(0);
-                    LOG.trace("Checking for 'expression' property.");
-                    if (semNode.has("expression")) {
-                        LOG.trace("Setting 'expression' value {}.", semNode.get("expression").asText());
-                        type_def.setExpression(semNode.get("expression").asText());
-                    }
-
-                    LOG.trace("Checking for 'value' property.");
-                    if (semNode.has("value")) {
-                        LOG.trace("Setting 'value' value {}.", semNode.get("value").asText());
-                        type_def.setValue(semNode.get("value").asText());
-                    }
-
-                    LOG.trace("Checking for 'obligation' property.");
-                    if (semNode.has("obligation")) {
-                        LOG.trace("Setting 'obligation' value {}.", semNode.get("obligation").asText());
-                        String obligation = semNode.get("obligation").asText();
-                        type_def.setOptional("Optional".equalsIgnoreCase(obligation));
-                    }
-
-                    LOG.trace("Checking for 'repeatable' property.");
-                    if (semNode.has("repeatable")) {
-                        LOG.trace("Setting 'repeatable' value {}.", semNode.get("repeatable").asText());
-                        String repeatable = semNode.get("repeatable").asText();
-                        type_def.setRepeatable(!"No".equalsIgnoreCase(repeatable));
-                    }
-                }
-                LOG.trace("Adding new sub-type with key {}.", key);
-                properties.put(key, type_def);
-            }
-        }
         String typeUseExpl = null;
         if (entry.has("description")) {
             typeUseExpl = entry.get("description").asText();
@@ -157,14 +422,20 @@ public class TypeRegistry implements ITypeRegistry {
         }
         String identifier = entry.get("identifier").asText();
 
-        TypeDefinition result = new TypeDefinition();
-        result.setName(name);
-        result.setDescription(typeUseExpl);
-        result.setIdentifier(identifier);
+        TypeDefinition.TypeDefinitionBuilder result = TypeDefinition.builder()
+                .name(name)
+                .description(typeUseExpl)
+                .identifier(identifier)
+                .properties(propertyBindings(validProperties(entry), typeGraph));
         LOG.trace("Checking for 'validationSchema' property.");
         if (entry.has("validationSchema")) {
             String validationSchema = entry.get("validationSchema").asText();
-            result.setSchema(validationSchema);
+            try {
+                result.schema(schemaCompiler.compile(validationSchema));
+            } catch (JSONException | SchemaException e) {
+                LOG.warn("Type {} has an invalid validation schema: {}", identifier, e.getMessage());
+                throw new TypeNotFoundException(identifier);
+            }
         }
 
         LOG.trace("Checking for 'provenance' property.");
@@ -203,12 +474,157 @@ public class TypeRegistry implements ITypeRegistry {
                 }
                 prov.addContributor(identified, contributorName, details);
             }
-            result.setProvenance(prov);
+            result.provenance(prov);
         }
 
         LOG.trace("Finalizing and returning type definition.");
-        properties.keySet().forEach(pd -> result.addSubType(properties.get(pd)));
-        this.typeCache.put(identifier, result);
+        return result.build();
+    }
+
+    /**
+     * Returns the properties of a type definition which have a name and
+     * identifier.
+     *
+     * @param entry The type definition.
+     * @return the valid property entries.
+     */
+    private static List<JsonNode> validProperties(JsonNode entry) {
+        List<JsonNode> validProperties = new ArrayList<>();
+        LOG.trace("Checking for 'properties' attribute.");
+        if (!entry.has("properties")) {
+            return validProperties;
+        }
+        for (JsonNode entryKV : entry.get("properties")) {
+            LOG.trace("Checking for 'name' property.");
+            if (!entryKV.has("name")) {
+                LOG.trace("No 'name' property found. Skipping property {}.", entryKV);
+                continue;
+            }
+
+            if (!entryKV.has("identifier")) {
+                LOG.trace("No 'identifier' property found. Skipping property {}.", entryKV);
+                continue;
+            }
+            validProperties.add(entryKV);
+        }
+        return validProperties;
+    }
+
+    /**
+     * Creates the bindings of a type to its sub-types.
+     *
+     * @param validProperties the property entries of the JSON definition.
+     * @param typeGraph       the type graph to look up sub-types in.
+     * @return the bindings by sub-type identifier.
+     */
+    private static Map<String, PropertyBinding> propertyBindings(
+            List<JsonNode> validProperties,
+            Map<String, TypeDefinition> typeGraph) {
+        Map<String, PropertyBinding> properties = new HashMap<>();
+        for (JsonNode entryKV : validProperties) {
+            String key = entryKV.get("name").asText();
+            String value = entryKV.get("identifier").asText();
+            LOG.trace("Creating property binding for identifier {}.", value);
+            String expression = null;
+            String semanticValue = null;
+            boolean optional = false;
+            boolean repeatable = false;
+
+            LOG.trace("Checking for sub-types in 'representationsAndSemantics' property.");
+            if (entryKV.has("representationsAndSemantics")) {
+                LOG.trace(
+                        "'representationsAndSemantics' attribute found. Transferring properties to property binding.");
+                JsonNode semNode = entryKV.get("representationsAndSemantics");
+                semNode = semNode.get(0);
+                LOG.trace("Checking for 'expression' property.");
+                if (semNode.has("expression")) {
+                    LOG.trace("Setting 'expression' value {}.", semNode.get("expression").asText());
+                    expression = semNode.get("expression").asText();
+                }
+
+                LOG.trace("Checking for 'value' property.");
+                if (semNode.has("value")) {
+                    LOG.trace("Setting 'value' value {}.", semNode.get("value").asText());
+                    semanticValue = semNode.get("value").asText();
+                }
+
+                LOG.trace("Checking for 'obligation' property.");
+                if (semNode.has("obligation")) {
+                    LOG.trace("Setting 'obligation' value {}.", semNode.get("obligation").asText());
+                    String obligation = semNode.get("obligation").asText();
+                    optional = "Optional".equalsIgnoreCase(obligation);
+                }
+
+                LOG.trace("Checking for 'repeatable' property.");
+                if (semNode.has("repeatable")) {
+                    LOG.trace("Setting 'repeatable' value {}.", semNode.get("repeatable").asText());
+                    repeatable = !"No".equalsIgnoreCase(semNode.get("repeatable").asText());
+                }
+            }
+            LOG.trace("Adding new property binding with key {}.", key);
+            properties.put(value, new PropertyBinding(
+                    key, value, optional, repeatable, expression, semanticValue, typeGraph));
+        }
+        return properties;
+    }
+
+    /**
+     * Resolves the given types concurrently via the type cache. Types known to
+     * the cache are not requested from the registry again.
+     * 
+     * The ePIC data type registry has no batch endpoint, so each missing type is
+     * fetched with its own request.
+     */
+    @Override
+    public Map<String, TypeDefinition> queryTypeDefinitions(Collection<String> typeIdentifiers) throws IOException {
+        return resolveTypes(new HashSet<>(typeIdentifiers));
+    }
+
+    /**
+     * Resolves the given type identifiers concurrently via the type cache.
+     * 
+     * Concurrent requests for the same identifier (also from other threads or
+     * profiles) are handled by a single load in the cache, so each type is
+     * fetched at most once at a time.
+     * 
+     * @param typeIdentifiers the identifiers to resolve.
+     * @return a map from each identifier to its type definition. Identifiers
+     *         which are not types are omitted.
+     * @throws IOException if at least one type could not be resolved.
+     */
+    private Map<String, TypeDefinition> resolveTypes(Set<String> typeIdentifiers) throws IOException {
+        Map<String, TypeDefinition> result = new HashMap<>();
+        Map<String, Future<TypeDefinition>> pending = new HashMap<>();
+        for (String typeIdentifier : typeIdentifiers) {
+            TypeDefinition cached = typeCache.getIfPresent(typeIdentifier);
+            if (cached != null) {
+                result.put(typeIdentifier, cached);
+            } else {
+                pending.put(typeIdentifier, subTypeExecutor.submit(() -> typeCache.get(typeIdentifier)));
+            }
+        }
+
+        try {
+            for (Map.Entry<String, Future<TypeDefinition>> task : pending.entrySet()) {
+                try {
+                    result.put(task.getKey(), task.getValue().get());
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause() instanceof UncheckedExecutionException
+                            ? ex.getCause().getCause()
+                            : ex.getCause();
+                    if (cause instanceof TypeNotFoundException) {
+                        continue;
+                    }
+                    // loads already running are shared with other callers, so they must finish
+                    pending.values().forEach(other -> other.cancel(false));
+                    throw new IOException("Failed to obtain type definition via cache.", cause);
+                }
+            }
+        } catch (InterruptedException ex) {
+            pending.values().forEach(task -> task.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while resolving types.", ex);
+        }
         return result;
     }
 }
@@ -0,0 +1,223 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Stores the raw JSON of fetched type definitions in a local directory, one
+ * file per type.
+ *
+ * On startup, the stored types can be loaded into the type cache without
+ * contacting the type registry (see `TypeCacheWarmup`). Each snapshot is used
+ * at most once this way. All later loads go to the type registry again and
+ * update the snapshot, if the type changed.
+ *
+ * The validators of the response (`ETag` and `Last-Modified`) are stored along
+ * with each snapshot, so the type registry can be asked with a conditional
+ * request whether a snapshot is still up to date.
+ */
+public class TypeSnapshotStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TypeSnapshotStore.class);
+
+    private static final String FILE_SUFFIX = ".json";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_ETAG = "etag";
+    private static final String FIELD_LAST_MODIFIED = "lastModified";
+
+    /**
+     * A stored type definition.
+     *
+     * @param content      the JSON as received from the type registry.
+     * @param etag         the `ETag` header of the response, or null.
+     * @param lastModified the `Last-Modified` header of the response, or null.
+     */
+    public record Snapshot(JsonNode content, String etag, String lastModified) {
+
+        public Snapshot(JsonNode content) {
+            this(content, null, null);
+        }
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+    }
+
+    /**
+     * Identifies the content of a stored snapshot without having to read it.
+     */
+    private record Version(String lastModificationDate, String etag, String lastModified) {
+
+        /**
+         * @return true, if a snapshot of this version does not need to be
+         *         replaced by a snapshot of the other version.
+         */
+        boolean covers(Version other) {
+            return lastModificationDate != null
+                    && lastModificationDate.equals(other.lastModificationDate)
+                    && ((other.etag == null && other.lastModified == null)
+                            || (Objects.equals(etag, other.etag) && Objects.equals(lastModified, other.lastModified)));
+        }
+    }
+
+    private final Path directory;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Set<String> warmStartCandidates = ConcurrentHashMap.newKeySet();
+    /**
+     * The versions of the snapshots read or written by this instance.
+     */
+    private final Map<String, Version> storedVersions = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory the directory to store snapshots in. If null, the store
+     *                  is disabled and does nothing.
+     */
+    public TypeSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public boolean isEnabled() {
+        return this.directory != null;
+    }
+
+    /**
+     * Reads the identifiers of all stored snapshots and marks them as
+     * available for a warm start.
+     *
+     * @return the identifiers of all stored types.
+     * @throws IOException if the directory could not be created or listed.
+     */
+    public Set<String> beginWarmStart() throws IOException {
+        Set<String> identifiers = new HashSet<>();
+        if (!isEnabled()) {
+            return identifiers;
+        }
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files
+                    .map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(FILE_SUFFIX))
+                    .map(name -> name.substring(0, name.length() - FILE_SUFFIX.length()))
+                    .map(name -> URLDecoder.decode(name, StandardCharsets.UTF_8))
+                    .forEach(identifiers::add);
+        }
+        warmStartCandidates.addAll(identifiers);
+        return identifiers;
+    }
+
+    /**
+     * Snapshots which have not been used until now will not be used for
+     * loading anymore.
+     */
+    public void endWarmStart() {
+        warmStartCandidates.clear();
+    }
+
+    /**
+     * Returns the snapshot of the given type, if the warm start is ongoing and
+     * the snapshot has not been used before.
+     *
+     * @param typeIdentifier the identifier of the type.
+     * @return the snapshot, or empty if the type should be fetched from the type
+     *         registry.
+     */
+    public Optional<Snapshot> takeForWarmStart(String typeIdentifier) {
+        if (!warmStartCandidates.remove(typeIdentifier)) {
+            return Optional.empty();
+        }
+        return read(typeIdentifier);
+    }
+
+    /**
+     * Stores a snapshot of a type. If this instance already read or wrote a
+     * snapshot with the same `provenance.lastModificationDate`, it is
+     * considered up to date and will not be rewritten, unless the given
+     * snapshot comes with other validators.
+     *
+     * Failures are only logged, as the snapshot is not essential for operation.
+     *
+     * @param typeIdentifier the identifier of the type.
+     * @param snapshot       the type as received from the type registry.
+     */
+    public void store(String typeIdentifier, Snapshot snapshot) {
+        if (!isEnabled()) {
+            return;
+        }
+        Version version = versionOf(snapshot);
+        Version known = storedVersions.get(typeIdentifier);
+        if (known != null && known.covers(version)) {
+            LOG.trace("Snapshot of type {} is up to date.", typeIdentifier);
+            return;
+        }
+        Path file = fileOf(typeIdentifier);
+        ObjectNode json = mapper.createObjectNode();
+        json.put(FIELD_ETAG, snapshot.etag());
+        json.put(FIELD_LAST_MODIFIED, snapshot.lastModified());
+        json.set(FIELD_CONTENT, snapshot.content());
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, "snapshot", ".tmp");
+            mapper.writeValue(tmp.toFile(), json);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            storedVersions.put(typeIdentifier, version);
+            LOG.debug("Stored snapshot of type {} in {}.", typeIdentifier, file);
+        } catch (IOException e) {
+            LOG.warn("Could not store snapshot of type {} in {}: {}", typeIdentifier, file, e.getMessage());
+        }
+    }
+
+    private Optional<Snapshot> read(String typeIdentifier) {
+        Path file = fileOf(typeIdentifier);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        JsonNode json;
+        try {
+            json = mapper.readTree(file.toFile());
+        } catch (IOException e) {
+            LOG.warn("Could not read snapshot of type {} from {}: {}", typeIdentifier, file, e.getMessage());
+            return Optional.empty();
+        }
+        // snapshots of earlier versions contain the type only
+        Snapshot snapshot = json.path(FIELD_CONTENT).isObject()
+                ? new Snapshot(json.get(FIELD_CONTENT), textOf(json, FIELD_ETAG), textOf(json, FIELD_LAST_MODIFIED))
+                : new Snapshot(json);
+        storedVersions.put(typeIdentifier, versionOf(snapshot));
+        return Optional.of(snapshot);
+    }
+
+    private static String textOf(JsonNode json, String field) {
+        JsonNode value = json.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Version versionOf(Snapshot snapshot) {
+        return new Version(
+                textOf(snapshot.content().path("provenance"), "lastModificationDate"),
+                snapshot.etag(),
+                snapshot.lastModified());
+    }
+
+    private Path fileOf(String typeIdentifier) {
+        return directory.resolve(URLEncoder.encode(typeIdentifier, StandardCharsets.UTF_8) + FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,22 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks a whole JSON document against a schema, e.g. a PID record rendered as
+ * JSON object (see `RecordSchema`).
+ *
+ * Documents are given engine-independently as maps, lists, strings, numbers,
+ * booleans and nulls, like Jackson reads them into plain Java objects.
+ */
+@FunctionalInterface
+public interface DocumentValidator {
+
+    /**
+     * @param document the JSON object to check.
+     * @param failFast if true, validation stops at the first violation.
+     * @return the violations found. Empty if the document is valid.
+     */
+    List<SchemaViolation> validate(Map<String, Object> document, boolean failFast);
+}
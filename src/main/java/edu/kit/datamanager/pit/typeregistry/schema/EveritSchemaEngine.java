@@ -0,0 +1,114 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.Validator;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The default schema engine, based on everit (`org.everit.json.schema`).
+ * Compiled schemas are shared via the `SchemaPool`.
+ */
+public class EveritSchemaEngine implements SchemaEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EveritSchemaEngine.class);
+
+    public static final String NAME = "everit";
+
+    private static final Validator FAIL_EARLY = Validator.builder().failEarly().build();
+    private static final Validator COLLECT_ALL = Validator.builder().build();
+
+    private final SchemaPool pool;
+
+    /**
+     * @param pool the pool compiled schemas are shared in.
+     */
+    public EveritSchemaEngine(SchemaPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public ValueValidator compile(String schemaSource) {
+        Schema schema = pool.get(schemaSource);
+        return document -> {
+            Object toValidate = document;
+            if (document.startsWith("{")) {
+                toValidate = new JSONObject(document);
+            }
+            try {
+                schema.validate(toValidate);
+                return true;
+            } catch (ValidationException ex) {
+                LOG.debug("Validation failed: {}", ex.getMessage());
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public DocumentValidator compileDocument(String schemaSource) {
+        Schema schema = pool.get(schemaSource);
+        return (document, failFast) -> {
+            try {
+                (failFast ? FAIL_EARLY : COLLECT_ALL).performValidation(schema, toJson(document));
+                return List.of();
+            } catch (ValidationException e) {
+                List<SchemaViolation> violations = new ArrayList<>();
+                addViolations(e, violations);
+                return violations;
+            }
+        };
+    }
+
+    private static Object toJson(Object value) {
+        if (value == null) {
+            return JSONObject.NULL;
+        }
+        if (value instanceof Map<?, ?> map) {
+            JSONObject json = new JSONObject();
+            map.forEach((key, element) -> json.put(String.valueOf(key), toJson(element)));
+            return json;
+        }
+        if (value instanceof List<?> list) {
+            JSONArray json = new JSONArray();
+            list.forEach(element -> json.put(toJson(element)));
+            return json;
+        }
+        return value;
+    }
+
+    private static void addViolations(ValidationException e, List<SchemaViolation> violations) {
+        if (!e.getCausingExceptions().isEmpty()) {
+            for (ValidationException cause : e.getCausingExceptions()) {
+                addViolations(cause, violations);
+            }
+            return;
+        }
+        violations.add(new SchemaViolation(propertyAt(e.getPointerToViolation()), e.getMessage()));
+    }
+
+    /**
+     * @param pointer a JSON pointer into a document, e.g. `#/name/0`.
+     * @return the top-level property the pointer refers to, or null if it
+     *         refers to the whole document.
+     */
+    private static String propertyAt(String pointer) {
+        String[] segments = pointer == null ? new String[0] : pointer.split("/");
+        if (segments.length < 2) {
+            return null;
+        }
+        return segments[1].replace("~1", "/").replace("~0", "~");
+    }
+}
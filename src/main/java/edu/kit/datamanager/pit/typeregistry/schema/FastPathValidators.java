@@ -0,0 +1,159 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.text.ParsePosition;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Compiles simple JSON schemas into dedicated validators, which do not need the
+ * generic schema engine.
+ *
+ * Most basic types of a data type registry are strings, restricted by a
+ * `pattern`, the `date-time` format, an `enum` or their length. Such schemas are
+ * recognized and checked with a precompiled `Pattern`, `java.time` parsing or a
+ * hash set. The behaviour is the same as with the generic engine (e.g. patterns
+ * are not anchored, lengths are counted in code points). Any other schema is not
+ * compiled and has to be validated by the generic engine.
+ */
+public final class FastPathValidators {
+
+    /**
+     * Keywords which do not affect validation.
+     */
+    private static final Set<String> ANNOTATIONS = Set.of(
+            "$schema", "$id", "id", "$comment", "title", "description", "default", "examples");
+
+    /**
+     * The `date-time` format as implemented by the generic engine.
+     */
+    private static final DateTimeFormatter DATE_TIME = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .appendOptional(new DateTimeFormatterBuilder()
+                    .appendFraction(ChronoField.NANO_OF_SECOND, 1, 9, true)
+                    .toFormatter())
+            .appendPattern("XXX")
+            .toFormatter();
+
+    private FastPathValidators() {}
+
+    /**
+     * Compiles a dedicated validator for the given schema, if the schema is
+     * simple enough.
+     *
+     * @param schemaSource the JSON schema as a string.
+     * @return the validator, or empty if the schema has to be validated by the
+     *         generic engine.
+     */
+    public static Optional<ValueValidator> compile(String schemaSource) {
+        try {
+            return compile(new JSONObject(schemaSource));
+        } catch (JSONException | PatternSyntaxException e) {
+            // the generic engine will report the problem
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<ValueValidator> compile(JSONObject schema) {
+        List<ValueValidator> checks = new ArrayList<>();
+        for (String keyword : schema.keySet()) {
+            if (ANNOTATIONS.contains(keyword)) {
+                continue;
+            }
+            switch (keyword) {
+                case "type" -> {
+                    if (!"string".equals(schema.opt(keyword))) {
+                        return Optional.empty();
+                    }
+                }
+                case "pattern" -> {
+                    Pattern pattern = Pattern.compile(schema.getString(keyword));
+                    checks.add(value -> pattern.matcher(value).find());
+                }
+                case "format" -> {
+                    if (!"date-time".equals(schema.opt(keyword))) {
+                        return Optional.empty();
+                    }
+                    checks.add(FastPathValidators::isDateTime);
+                }
+                case "enum" -> {
+                    Optional<Set<String>> allowed = stringsOf(schema.optJSONArray(keyword));
+                    if (allowed.isEmpty()) {
+                        return Optional.empty();
+                    }
+                    Set<String> values = allowed.get();
+                    checks.add(values::contains);
+                }
+                case "minLength" -> {
+                    int minLength = schema.getInt(keyword);
+                    checks.add(value -> value.codePointCount(0, value.length()) >= minLength);
+                }
+                case "maxLength" -> {
+                    int maxLength = schema.getInt(keyword);
+                    checks.add(value -> value.codePointCount(0, value.length()) <= maxLength);
+                }
+                default -> {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.of(combine(checks));
+    }
+
+    private static Optional<Set<String>> stringsOf(JSONArray array) {
+        if (array == null) {
+            return Optional.empty();
+        }
+        Set<String> strings = new HashSet<>();
+        for (Object element : array) {
+            if (!(element instanceof String)) {
+                return Optional.empty();
+            }
+            strings.add((String) element);
+        }
+        return Optional.of(Set.copyOf(strings));
+    }
+
+    private static ValueValidator combine(List<ValueValidator> checks) {
+        if (checks.size() == 1) {
+            return checks.get(0);
+        }
+        ValueValidator[] all = checks.toArray(ValueValidator[]::new);
+        return value -> {
+            for (ValueValidator check : all) {
+                if (!check.isValid(value)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static boolean isDateTime(String value) {
+        // rejects malformed values without an exception
+        ParsePosition position = new ParsePosition(0);
+        if (DATE_TIME.parseUnresolved(value, position) == null || position.getIndex() != value.length()) {
+            return false;
+        }
+        // rejects fields out of range, e.g. month 13 or day 32. Like the generic
+        // engine, smart resolution clamps February 30 to the last day of February.
+        try {
+            DATE_TIME.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.OutputFormat;
+import com.networknt.schema.SchemaValidatorsConfig;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+
+/**
+ * A schema engine based on networknt (`com.networknt.schema`), which validates
+ * Jackson trees and stops at the first error.
+ *
+ * Schemas without `$schema` are treated as draft 4, like in the data type
+ * registries. Formats are asserted, like with everit. Compiled schemas are
+ * shared between identical sources while they are in use. Schemas networknt
+ * can not load are validated by everit.
+ *
+ * Documents are validated without stopping at the first error, unless
+ * requested per validation (see `DocumentValidator`).
+ */
+public class NetworkntSchemaEngine implements SchemaEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetworkntSchemaEngine.class);
+
+    public static final String NAME = "networknt";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonSchemaFactory factory = JsonSchemaFactory.getInstance(
+            SpecVersion.VersionFlag.V4,
+            builder -> builder.enableSchemaCache(false));
+    private final SchemaValidatorsConfig config = SchemaValidatorsConfig.builder()
+            .formatAssertionsEnabled(true)
+            .failFast(true)
+            .build();
+    private final SchemaValidatorsConfig documentConfig = SchemaValidatorsConfig.builder()
+            .formatAssertionsEnabled(true)
+            .build();
+
+    private final SchemaEngine fallback;
+
+    private final Cache<String, ValueValidator> validators = CacheBuilder.newBuilder()
+            .weakValues()
+            .build();
+    private final Cache<String, DocumentValidator> documentValidators = CacheBuilder.newBuilder()
+            .weakValues()
+            .build();
+
+    /**
+     * @param pool the pool the everit fallback shares compiled schemas in.
+     */
+    public NetworkntSchemaEngine(SchemaPool pool) {
+        this.fallback = new EveritSchemaEngine(pool);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public ValueValidator compile(String schemaSource) {
+        return get(validators, schemaSource, () -> load(schemaSource));
+    }
+
+    @Override
+    public DocumentValidator compileDocument(String schemaSource) {
+        return get(documentValidators, schemaSource, () -> loadDocument(schemaSource));
+    }
+
+    private static <V> V get(Cache<String, V> cache, String schemaSource, Callable<V> loader) {
+        try {
+            return cache.get(SchemaPool.versionOf(schemaSource), loader);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException("Could not compile schema.", e.getCause());
+        }
+    }
+
+    private ValueValidator load(String schemaSource) {
+        JsonSchema schema;
+        try {
+            schema = factory.getSchema(schemaSource, config);
+        } catch (RuntimeException e) {
+            LOG.warn("Schema not supported, falling back to everit: {}", e.getMessage());
+            return fallback.compile(schemaSource);
+        }
+        return document -> {
+            JsonNode toValidate;
+            if (document.startsWith("{")) {
+                try {
+                    toValidate = mapper.readTree(document);
+                } catch (JsonProcessingException e) {
+                    LOG.debug("Value is not valid JSON: {}", e.getOriginalMessage());
+                    return false;
+                }
+            } else {
+                toValidate = TextNode.valueOf(document);
+            }
+            return schema.validate(toValidate, OutputFormat.BOOLEAN);
+        };
+    }
+
+    private DocumentValidator loadDocument(String schemaSource) {
+        JsonSchema schema;
+        try {
+            schema = factory.getSchema(schemaSource, documentConfig);
+        } catch (RuntimeException e) {
+            LOG.warn("Schema not supported, falling back to everit: {}", e.getMessage());
+            return fallback.compileDocument(schemaSource);
+        }
+        return (document, failFast) -> {
+            JsonNode toValidate = mapper.valueToTree(document);
+            List<SchemaViolation> violations = new ArrayList<>();
+            for (ValidationMessage message : schema.validate(toValidate,
+                    context -> context.getExecutionConfig().setFailFast(failFast))) {
+                violations.add(new SchemaViolation(propertyOf(message), message.getMessage()));
+            }
+            return violations;
+        };
+    }
+
+    /**
+     * @return the top-level property of the document the message refers to, or
+     *         null if it refers to the whole document.
+     */
+    private static String propertyOf(ValidationMessage message) {
+        if (message.getInstanceLocation().getNameCount() == 0) {
+            return null;
+        }
+        return message.getInstanceLocation().getName(0);
+    }
+}
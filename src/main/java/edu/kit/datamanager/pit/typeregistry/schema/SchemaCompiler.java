@@ -0,0 +1,61 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.util.Optional;
+
+import com.google.common.base.Suppliers;
+
+/**
+ * Compiles the JSON schemas of types (see `TypeSchema`) with the configured
+ * schema engine.
+ *
+ * Each schema is compiled by the engine only. Simple schemas are additionally
+ * compiled into a dedicated validator (see `FastPathValidators`); for them, the
+ * engine compiles the schema only when the first JSON object has to be
+ * validated, which is rarely the case.
+ */
+public class SchemaCompiler {
+
+    private final SchemaEngine engine;
+    private final ValidationMemo memo;
+    private final ValidationProfiler profiler;
+
+    public SchemaCompiler(SchemaEngine engine, ValidationMemo memo, ValidationProfiler profiler) {
+        this.engine = engine;
+        this.memo = memo;
+        this.profiler = profiler;
+    }
+
+    /**
+     * @return the engine schemas are compiled with.
+     */
+    public SchemaEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Compiles the schema of a type.
+     *
+     * @param schemaSource the JSON schema as a string.
+     * @return the compiled schema.
+     * @throws RuntimeException if the source is not valid JSON or not a valid
+     *         schema (see `SchemaEngine.compile`).
+     */
+    public TypeSchema compile(String schemaSource) {
+        Optional<ValueValidator> valueValidator = FastPathValidators.compile(schemaSource);
+        if (valueValidator.isPresent()) {
+            return new TypeSchema(
+                    schemaSource,
+                    valueValidator.get(),
+                    Suppliers.memoize(() -> engine.compile(schemaSource)),
+                    memo,
+                    profiler);
+        }
+        ValueValidator schemaValidator = engine.compile(schemaSource);
+        return new TypeSchema(
+                schemaSource,
+                null,
+                () -> schemaValidator,
+                memo,
+                profiler);
+    }
+}
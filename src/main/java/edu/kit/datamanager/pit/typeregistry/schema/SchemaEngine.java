@@ -0,0 +1,41 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+/**
+ * A JSON schema implementation, used to validate values against the schema of
+ * their type (see `TypeDefinition.validate`) and records against the schema of
+ * their profile (see `RecordSchema`).
+ *
+ * Values are given as stored in a PID record: values starting with `{` are
+ * validated as JSON objects, all other values as strings. Implementations must
+ * be thread-safe, and so must be the validators they compile.
+ *
+ * The engine in use is configured with `pit.validation.schemaEngine` (see
+ * `SchemaEngines`) and provided as a bean.
+ */
+public interface SchemaEngine {
+
+    /**
+     * @return the name of the engine, as used in the configuration.
+     */
+    String name();
+
+    /**
+     * Compiles a schema for validating values.
+     *
+     * @param schemaSource the JSON schema as a string.
+     * @return the validator of the schema.
+     * @throws RuntimeException if the source is not valid JSON or not a valid
+     *         schema. The exact type depends on the engine.
+     */
+    ValueValidator compile(String schemaSource);
+
+    /**
+     * Compiles a schema for validating whole JSON documents.
+     *
+     * @param schemaSource the JSON schema as a string.
+     * @return the validator of the schema.
+     * @throws RuntimeException if the source is not valid JSON or not a valid
+     *         schema. The exact type depends on the engine.
+     */
+    DocumentValidator compileDocument(String schemaSource);
+}
@@ -0,0 +1,32 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The available schema engines. The engine in use is created once on startup
+ * and provided as a bean.
+ */
+public final class SchemaEngines {
+
+    private static final Map<String, Function<SchemaPool, SchemaEngine>> AVAILABLE = Map.of(
+            EveritSchemaEngine.NAME, EveritSchemaEngine::new,
+            NetworkntSchemaEngine.NAME, NetworkntSchemaEngine::new);
+
+    private SchemaEngines() {}
+
+    /**
+     * @param name the name of an engine, e.g. "everit" or "networknt".
+     * @param pool the pool everit shares compiled schemas in.
+     * @return a new instance of the engine.
+     * @throws IllegalArgumentException if there is no engine with this name.
+     */
+    public static SchemaEngine create(String name, SchemaPool pool) {
+        Function<SchemaPool, SchemaEngine> engine = AVAILABLE.get(name.toLowerCase());
+        if (engine == null) {
+            throw new IllegalArgumentException(
+                    "Unknown schema engine " + name + ". Available: " + AVAILABLE.keySet());
+        }
+        return engine.apply(pool);
+    }
+}
@@ -0,0 +1,130 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * Pool of compiled JSON schemas, addressed by the SHA-256 hash of their source.
+ *
+ * Many types of a data type registry share the same validation schema (e.g.
+ * for dates, URLs or handles). With this pool, such a schema is only compiled
+ * once and all type definitions refer to the same compiled instance. Schemas
+ * are only weakly referenced and will be removed when no type definition uses
+ * them anymore.
+ *
+ * The pool is used by the everit schema engine and provided as a bean. It
+ * reports its size, the size of the pooled sources and the CPU time spent
+ * compiling to the given meter registry.
+ */
+public class SchemaPool implements MeterBinder {
+
+    private static final String CACHE_NAME = "jsonSchemas";
+    private static final String METRIC_PREFIX = "pit.typeregistry.schemas";
+
+    private final Cache<String, Schema> schemas = CacheBuilder.newBuilder()
+            .weakValues()
+            .recordStats()
+            .removalListener(this::onRemoval)
+            .build();
+    private final Map<String, Integer> sourceBytes = new ConcurrentHashMap<>();
+    private final LongAdder compileCpuNanos = new LongAdder();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Returns the compiled schema for the given source. It will be compiled
+     * only if no identical schema is in use already.
+     *
+     * @param schemaSource the JSON schema as a string.
+     * @return the compiled schema.
+     * @throws org.json.JSONException if the source is not valid JSON.
+     * @throws org.everit.json.schema.SchemaException if the source is not a
+     *         valid schema.
+     */
+    public Schema get(String schemaSource) {
+        String key = versionOf(schemaSource);
+        try {
+            return schemas.get(key, () -> compile(key, schemaSource));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException("Could not compile schema.", e.getCause());
+        }
+    }
+
+    /**
+     * Identical schemas have the same version, and any change of a schema
+     * results in a different version.
+     *
+     * @param schemaSource the JSON schema as a string.
+     * @return the version of the schema, which is the SHA-256 hash of its source.
+     */
+    public static String versionOf(String schemaSource) {
+        return Hashing.sha256().hashString(schemaSource, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * @return the amount of distinct compiled schemas currently in the pool.
+     */
+    public long size() {
+        schemas.cleanUp();
+        return schemas.size();
+    }
+
+    private Schema compile(String key, String schemaSource) {
+        boolean measureCpu = threads.isCurrentThreadCpuTimeSupported();
+        long cpuStart = measureCpu ? threads.getCurrentThreadCpuTime() : 0;
+        Schema schema = SchemaLoader.load(new JSONObject(schemaSource));
+        if (measureCpu) {
+            compileCpuNanos.add(threads.getCurrentThreadCpuTime() - cpuStart);
+        }
+        sourceBytes.put(key, schemaSource.getBytes(StandardCharsets.UTF_8).length);
+        return schema;
+    }
+
+    private void onRemoval(RemovalNotification<String, Schema> notification) {
+        // A collected schema may have been compiled again in the meantime.
+        if (notification.getCause() == RemovalCause.COLLECTED
+                && schemas.getIfPresent(notification.getKey()) != null) {
+            return;
+        }
+        sourceBytes.remove(notification.getKey());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, schemas, CACHE_NAME);
+        Gauge.builder(METRIC_PREFIX + ".source.size", sourceBytes,
+                        sizes -> sizes.values().stream().mapToLong(Integer::longValue).sum())
+                .description("Size of the sources of all pooled schemas.")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".compile.cpu", compileCpuNanos,
+                        nanos -> nanos.sum() / (double) TimeUnit.SECONDS.toNanos(1))
+                .description("CPU time spent compiling schemas.")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+}
@@ -0,0 +1,13 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+/**
+ * A single reason why a JSON document does not conform to a schema (see
+ * `DocumentValidator`).
+ *
+ * @param property the top-level property of the document the violation was
+ *                 found in, or null if it concerns the document as a whole
+ *                 (e.g. a missing required property).
+ * @param message  a human readable description of the violation, as reported
+ *                 by the schema engine.
+ */
+public record SchemaViolation(String property, String message) {}
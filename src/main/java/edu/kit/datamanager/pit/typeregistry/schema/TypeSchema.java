@@ -0,0 +1,98 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.util.function.Supplier;
+
+/**
+ * The JSON schema of a type, compiled for validating its values (see
+ * `SchemaCompiler`).
+ *
+ * Simple schemas are checked by a dedicated validator (see
+ * `FastPathValidators`). For other schemas, values are validated by the schema
+ * engine and the outcome is remembered for identical values (see
+ * `ValidationMemo`). Time and outcome are recorded per type (see
+ * `ValidationProfiler`).
+ *
+ * Type schemas are immutable and thread-safe. Two type schemas are equal if
+ * their sources are equal.
+ */
+public final class TypeSchema {
+
+    private final String source;
+    private final String version;
+    private final ValueValidator valueValidator;
+    private final Supplier<ValueValidator> schemaValidator;
+    private final ValidationMemo memo;
+    private final ValidationProfiler profiler;
+
+    TypeSchema(
+            String source,
+            ValueValidator valueValidator,
+            Supplier<ValueValidator> schemaValidator,
+            ValidationMemo memo,
+            ValidationProfiler profiler) {
+        this.source = source;
+        this.version = SchemaPool.versionOf(source);
+        this.valueValidator = valueValidator;
+        this.schemaValidator = schemaValidator;
+        this.memo = memo;
+        this.profiler = profiler;
+    }
+
+    /**
+     * @return the JSON schema as a string.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return the version of the schema (see `SchemaPool.versionOf`).
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return true, if string values are checked by a dedicated validator
+     *         instead of the schema engine.
+     */
+    public boolean hasValueValidator() {
+        return valueValidator != null;
+    }
+
+    /**
+     * Validates a value against this schema.
+     *
+     * @param type     the identifier of the type this schema belongs to.
+     * @param document the value, usually taken from a PID record.
+     * @return true if the given value is valid according to this schema.
+     */
+    public boolean validate(String type, String document) {
+        long start = profiler.start();
+        boolean valid = validateValue(type, document);
+        profiler.recordType(type, start, valid);
+        return valid;
+    }
+
+    private boolean validateValue(String type, String document) {
+        if (valueValidator != null && !document.startsWith("{")) {
+            return valueValidator.isValid(document);
+        }
+        return memo.validate(type, version, document, value -> schemaValidator.get().isValid(value));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TypeSchema schema && version.equals(schema.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return version.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "TypeSchema(" + version + ")";
+    }
+}
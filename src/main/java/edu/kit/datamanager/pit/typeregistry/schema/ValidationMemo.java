@@ -0,0 +1,96 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * Remembers the outcome of validating a value against the schema of a type.
+ *
+ * Records usually share many values (e.g. the profile or the digital object
+ * policy), which do not need to be validated by the schema again. Outcomes are
+ * addressed by the identifier of the type, the version of its schema (see
+ * `SchemaPool.versionOf`) and a 128 bit hash of the value, so the memory per
+ * entry does not depend on the size of the value. As a changed schema has a
+ * different version, outcomes of outdated schemas are never used again; they
+ * are not removed explicitly, but age out as the amount of entries is bounded.
+ *
+ * The memo reports its statistics as `cache.*` metrics with the tag
+ * `cache=validationResults`.
+ */
+public class ValidationMemo implements MeterBinder {
+
+    private static final String CACHE_NAME = "validationResults";
+    private static final HashFunction VALUE_HASH = Hashing.murmur3_128();
+
+    private record Key(String type, String schemaVersion, HashCode value) {}
+
+    /**
+     * The remembered outcomes, or null if the memo is disabled.
+     */
+    private final Cache<Key, Boolean> outcomes;
+
+    /**
+     * @param maximumSize the maximum amount of remembered outcomes. 0 disables
+     *                    the memo, so values are always validated by the schema.
+     */
+    public ValidationMemo(long maximumSize) {
+        this.outcomes = maximumSize <= 0 ? null : CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the remembered outcome of validating the value against the type,
+     * or validates the value using the given schema validation and remembers the
+     * outcome.
+     *
+     * @param type          the identifier of the type.
+     * @param schemaVersion the version of the schema of the type.
+     * @param value         the value to validate.
+     * @param validation    the actual validation of the value against the schema.
+     * @return true, if the value is valid according to the type.
+     */
+    public boolean validate(String type, String schemaVersion, String value, Predicate<String> validation) {
+        if (outcomes == null) {
+            return validation.test(value);
+        }
+        Key key = new Key(type, schemaVersion, VALUE_HASH.hashString(value, StandardCharsets.UTF_8));
+        Boolean known = outcomes.getIfPresent(key);
+        if (known != null) {
+            return known;
+        }
+        boolean valid = validation.test(value);
+        outcomes.put(key, valid);
+        return valid;
+    }
+
+    /**
+     * @return the amount of remembered outcomes.
+     */
+    public long size() {
+        if (outcomes == null) {
+            return 0;
+        }
+        outcomes.cleanUp();
+        return outcomes.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (outcomes == null) {
+            return;
+        }
+        GuavaCacheMetrics.monitor(registry, outcomes, CACHE_NAME);
+    }
+}
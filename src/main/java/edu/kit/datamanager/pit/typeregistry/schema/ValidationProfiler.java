@@ -0,0 +1,140 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates time, invocations and failures of validations, per type and per
+ * profile, to find the schemas and records dominating the validation time.
+ *
+ * Counters are `LongAdder`s, so concurrent validations of the same type do not
+ * contend. The amount of entries is bounded by the amount of types and
+ * profiles in use. The profiler is provided as a bean and exposed by the
+ * actuator endpoint `validationprofile`.
+ */
+public class ValidationProfiler {
+
+    private volatile boolean enabled = true;
+    private final Map<String, Counters> types = new ConcurrentHashMap<>();
+    private final Map<String, Counters> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * The accumulated validations of a type or profile.
+     *
+     * @param identifier  the identifier of the type or profile.
+     * @param invocations the amount of validations.
+     * @param failures    the amount of validations with an invalid outcome.
+     * @param totalMillis the total time spent validating.
+     * @param meanMicros  the mean time per validation.
+     */
+    public record Entry(String identifier, long invocations, long failures, double totalMillis, double meanMicros) {}
+
+    private static final class Counters {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        void add(long duration, boolean valid) {
+            invocations.increment();
+            nanos.add(duration);
+            if (!valid) {
+                failures.increment();
+            }
+        }
+
+        Entry toEntry(String identifier) {
+            long count = invocations.sum();
+            long total = nanos.sum();
+            return new Entry(
+                    identifier,
+                    count,
+                    failures.sum(),
+                    (double) total / TimeUnit.MILLISECONDS.toNanos(1),
+                    count == 0 ? 0 : (double) total / count / TimeUnit.MICROSECONDS.toNanos(1));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled if false, validations are no longer timed or counted.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the start time of a validation, or 0 if profiling is disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the validation of a value against a type.
+     *
+     * @param type  the identifier of the type. If null, nothing is recorded.
+     * @param start the start of the validation (see `start()`).
+     * @param valid the outcome of the validation.
+     */
+    public void recordType(String type, long start, boolean valid) {
+        record(types, type, start, valid);
+    }
+
+    /**
+     * Records the validation of a record against its profile(s).
+     *
+     * @param profile the identifier(s) of the profile(s). If null, nothing is
+     *                recorded.
+     * @param start   the start of the validation (see `start()`).
+     * @param valid   the outcome of the validation.
+     */
+    public void recordProfile(String profile, long start, boolean valid) {
+        record(profiles, profile, start, valid);
+    }
+
+    private static void record(Map<String, Counters> counters, String identifier, long start, boolean valid) {
+        if (start == 0 || identifier == null) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        counters.computeIfAbsent(identifier, key -> new Counters()).add(duration, valid);
+    }
+
+    /**
+     * @return the validations of each type, by total time, descending.
+     */
+    public List<Entry> types() {
+        return sorted(types);
+    }
+
+    /**
+     * @return the validations of records with each profile (or combination of
+     *         profiles), by total time, descending.
+     */
+    public List<Entry> profiles() {
+        return sorted(profiles);
+    }
+
+    private static List<Entry> sorted(Map<String, Counters> counters) {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        counters.forEach((identifier, counter) -> entries.add(counter.toEntry(identifier)));
+        entries.sort(Comparator.comparingDouble(Entry::totalMillis).reversed());
+        return entries;
+    }
+
+    /**
+     * Forgets all recorded validations.
+     */
+    public void reset() {
+        types.clear();
+        profiles.clear();
+    }
+}
@@ -0,0 +1,15 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+/**
+ * Checks a single (string) value of a PID record, without throwing exceptions on
+ * invalid values.
+ */
+@FunctionalInterface
+public interface ValueValidator {
+
+    /**
+     * @param value the value to check, not null.
+     * @return true, if the value is valid.
+     */
+    boolean isValid(String value);
+}
@@ -0,0 +1,45 @@
+package edu.kit.datamanager.pit.web;
+
+import java.util.List;
+
+import edu.kit.datamanager.pit.domain.Violation;
+import lombok.Value;
+
+/**
+ * The outcome of validating a single record of a batch (see
+ * `ITypingRestResource.validateRecords`).
+ */
+@Value
+public class BatchValidationResult {
+
+    /**
+     * The position of the record in the batch, starting at 0.
+     */
+    int index;
+    /**
+     * The PID of the record, if it had one.
+     */
+    String pid;
+    boolean valid;
+    /**
+     * The HTTP status a dry run of this record alone would respond with.
+     */
+    int status;
+    /**
+     * The reason if the record is not valid, otherwise null.
+     */
+    String message;
+    /**
+     * All violations, if requested and supported by the validation strategy.
+     */
+    List<Violation> violations;
+
+    public static BatchValidationResult valid(int index, String pid) {
+        return new BatchValidationResult(index, pid, true, 200, null, List.of());
+    }
+
+    public static BatchValidationResult invalid(
+            int index, String pid, int status, String message, List<Violation> violations) {
+        return new BatchValidationResult(index, pid, false, status, message, violations);
+    }
+}
@@ -31,6 +31,9 @@ public class ExtendedErrorAttributes extends DefaultErrorAttributes {
             } catch (Exception e) {
                 // just to make sure
             }
+            if (!validationError.getViolations().isEmpty()) {
+                errorAttributes.put("violations", validationError.getViolations());
+            }
         }
 
         return errorAttributes;
@@ -18,6 +18,7 @@ package edu.kit.datamanager.pit.web;
 import edu.kit.datamanager.pit.pidlog.KnownPid;
 import edu.kit.datamanager.pit.domain.PIDRecord;
 import edu.kit.datamanager.pit.domain.SimplePidRecord;
+import edu.kit.datamanager.pit.pitservice.ValidationMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -30,6 +31,7 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springdoc.core.converters.models.PageableAsQueryParam;
@@ -41,6 +43,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
@@ -66,6 +69,8 @@ public interface ITypingRestResource {
      * be aware that in general, validation may take up some time.
      *
      * @param rec The PID record.
+     * @param dryrun if only validation shall be executed.
+     * @param validationMode whether to report only the first or all violations.
      *
      * @return either 201 and a record representation, or an error (see ApiResponse
      *         annotations and tests).
@@ -117,6 +122,16 @@ public interface ITypingRestResource {
             @RequestParam(name = "dryrun", required = false, defaultValue = "false")
             boolean dryrun,
 
+            @Parameter(
+                    description = "FAIL_FAST (default) stops validation at the" +
+                            " first violation. COLLECT_ALL checks the whole record" +
+                            " and lists every violation in the error response" +
+                            " (field \"violations\").",
+                    required = false
+            )
+            @RequestParam(name = "validationMode", required = false, defaultValue = "FAIL_FAST")
+            ValidationMode validationMode,
+
             final WebRequest request,
             final HttpServletResponse response,
             final UriComponentsBuilder uriBuilder
@@ -132,6 +147,7 @@ public interface ITypingRestResource {
      *
      * @param rec the PID record.
      * @param dryrun if only validation shall be executed.
+     * @param validationMode whether to report only the first or all violations.
      *
      * @return the record (on success).
      *
@@ -185,11 +201,73 @@ public interface ITypingRestResource {
             @RequestParam(name = "dryrun", required = false, defaultValue = "false")
             boolean dryrun,
 
+            @Parameter(
+                    description = "FAIL_FAST (default) stops validation at the" +
+                            " first violation. COLLECT_ALL checks the whole record" +
+                            " and lists every violation in the error response" +
+                            " (field \"violations\").",
+                    required = false
+            )
+            @RequestParam(name = "validationMode", required = false, defaultValue = "FAIL_FAST")
+            ValidationMode validationMode,
+
             final WebRequest request,
             final HttpServletResponse response,
             final UriComponentsBuilder uriBuilder
     ) throws IOException;
 
+    /**
+     * Validate many PID records at once, like a dry run of "POST /pid/" for
+     * each record. No PIDs will be created.
+     * <p>
+     * Records are given as a JSON array or as newline delimited JSON (one record
+     * per line) and validated concurrently. The results are streamed back as
+     * newline delimited JSON, one result per record in the order of the records.
+     * Invalid records do not abort the batch.
+     *
+     * @param validationMode whether to report only the first or all violations
+     *                       of each record.
+     * @param request the request, containing the records in its body.
+     *
+     * @return a stream of results.
+     */
+    @PostMapping(
+        path = "pids/validation",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+        produces = {MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(
+        summary = "Validate many PID records",
+        description = "Validate a batch of PID records without creating PIDs. Results are streamed back per record."
+    )
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+        description = "The records to validate, as a JSON array or one record per line.",
+        required = true,
+        content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = PIDRecord.class))),
+            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = PIDRecord.class))
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "One result per record, as newline delimited JSON. Check the \"valid\" field of each result.",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BatchValidationResult.class))),
+        @ApiResponse(responseCode = "415", description = "Provided input is invalid with regard to the supported content types. (Unsupported Mediatype)", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+    })
+    public ResponseEntity<StreamingResponseBody> validateRecords(
+            @Parameter(
+                    description = "FAIL_FAST (default) stops validation of a" +
+                            " record at its first violation. COLLECT_ALL lists" +
+                            " every violation of a record in its result.",
+                    required = false
+            )
+            @RequestParam(name = "validationMode", required = false, defaultValue = "FAIL_FAST")
+            ValidationMode validationMode,
+
+            final HttpServletRequest request
+    ) throws IOException;
+
     /**
      * Get the record of the given PID (or test if it exists).
      *
@@ -0,0 +1,39 @@
+package edu.kit.datamanager.pit.web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationProfiler;
+
+/**
+ * Actuator endpoint (/actuator/validationprofile) listing the time spent
+ * validating values of each type and records of each profile, sorted by total
+ * time. A DELETE request resets the statistics.
+ */
+@Endpoint(id = "validationprofile")
+public class ValidationProfileEndpoint {
+
+    private final ValidationProfiler profiler;
+
+    public ValidationProfileEndpoint(ValidationProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> profile() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", profiler.isEnabled());
+        result.put("types", profiler.types());
+        result.put("profiles", profiler.profiles());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+}
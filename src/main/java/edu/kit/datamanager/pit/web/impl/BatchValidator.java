@@ -0,0 +1,203 @@
+package edu.kit.datamanager.pit.web.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.kit.datamanager.pit.common.RecordValidationException;
+import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.pitservice.ITypingService;
+import edu.kit.datamanager.pit.pitservice.ValidationMode;
+import edu.kit.datamanager.pit.web.BatchValidationResult;
+
+/**
+ * Validates a stream of records and writes one result per record, as soon as
+ * it is available.
+ *
+ * Records are validated concurrently, but results are written in the order of
+ * the records. At most a few records per thread are held in memory at a time,
+ * so batches may be arbitrarily large. A record which can not be validated does
+ * not abort the batch, but results in a result with `valid=false`.
+ */
+public class BatchValidator implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchValidator.class);
+    private static final String DRYRUN_PID = "dryrun";
+
+    private final ITypingService typingService;
+    private final ObjectMapper mapper;
+    private final ExecutorService executor;
+    private final int window;
+
+    /**
+     * @param typingService the service validating the records.
+     * @param mapper        reads records and writes results.
+     * @param parallelism   the maximum amount of records validated concurrently,
+     *                      for all batches together.
+     */
+    public BatchValidator(ITypingService typingService, ObjectMapper mapper, int parallelism) {
+        this.typingService = typingService;
+        this.mapper = mapper;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "batch-validation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.window = 2 * parallelism;
+    }
+
+    /**
+     * Validates a JSON array of records.
+     *
+     * @param in   the records.
+     * @param mode the validation mode for each record.
+     * @param out  the stream to write the results to, one JSON object per line.
+     * @throws IOException if the output could not be written.
+     */
+    public void validateArray(InputStream in, ValidationMode mode, OutputStream out) throws IOException {
+        Results results = new Results(out);
+        int index = 0;
+        try (MappingIterator<PIDRecord> records = mapper.readerFor(PIDRecord.class).readValues(in)) {
+            while (records.hasNextValue()) {
+                results.add(submit(index, records.nextValue(), mode));
+                index++;
+            }
+        } catch (IOException | RuntimeException e) {
+            // The rest of the array can not be read reliably anymore.
+            results.add(unreadable(index, e));
+        }
+        results.finish();
+    }
+
+    /**
+     * Validates records given as newline delimited JSON (one record per line).
+     * Unreadable lines only affect the result of this line.
+     *
+     * @param in   the records.
+     * @param mode the validation mode for each record.
+     * @param out  the stream to write the results to, one JSON object per line.
+     * @throws IOException if the input could not be read or the output could not
+     *                     be written.
+     */
+    public void validateLines(InputStream in, ValidationMode mode, OutputStream out) throws IOException {
+        Results results = new Results(out);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        int index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                results.add(submit(index, mapper.readValue(line, PIDRecord.class), mode));
+            } catch (IOException e) {
+                results.add(unreadable(index, e));
+            }
+            index++;
+        }
+        results.finish();
+    }
+
+    private Future<BatchValidationResult> submit(int index, PIDRecord pidRecord, ValidationMode mode) {
+        return executor.submit(() -> validate(index, pidRecord, mode));
+    }
+
+    private BatchValidationResult validate(int index, PIDRecord pidRecord, ValidationMode mode) {
+        if (pidRecord == null) {
+            return BatchValidationResult.invalid(
+                    index, null, HttpStatus.BAD_REQUEST.value(), "Record is empty.", List.of());
+        }
+        String pid = pidRecord.getPid();
+        if (pid == null || pid.isBlank()) {
+            // like a dry run of a single record
+            pidRecord.setPid(DRYRUN_PID);
+        }
+        try {
+            typingService.validate(pidRecord, mode);
+            return BatchValidationResult.valid(index, pid);
+        } catch (RecordValidationException e) {
+            return BatchValidationResult.invalid(
+                    index, pid, e.getStatusCode().value(), e.getReason(), e.getViolations());
+        } catch (ResponseStatusException e) {
+            return BatchValidationResult.invalid(index, pid, e.getStatusCode().value(), e.getReason(), List.of());
+        } catch (RuntimeException e) {
+            LOG.error("Could not validate record {} of batch.", index, e);
+            return BatchValidationResult.invalid(
+                    index, pid, HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage(), List.of());
+        }
+    }
+
+    private static Future<BatchValidationResult> unreadable(int index, Exception e) {
+        return CompletableFuture.completedFuture(BatchValidationResult.invalid(
+                index, null, HttpStatus.BAD_REQUEST.value(), "Could not read record: " + e.getMessage(), List.of()));
+    }
+
+    /**
+     * Writes results in order, while keeping at most `window` of them pending.
+     */
+    private class Results {
+        private final OutputStream out;
+        private final Deque<Future<BatchValidationResult>> pending = new ArrayDeque<>();
+
+        Results(OutputStream out) {
+            this.out = out;
+        }
+
+        void add(Future<BatchValidationResult> result) throws IOException {
+            pending.addLast(result);
+            if (pending.size() >= window) {
+                writeNext();
+            }
+        }
+
+        void finish() throws IOException {
+            while (!pending.isEmpty()) {
+                writeNext();
+            }
+            out.flush();
+        }
+
+        private void writeNext() throws IOException {
+            Future<BatchValidationResult> next = pending.removeFirst();
+            try {
+                out.write(mapper.writeValueAsBytes(next.get()));
+                out.write('\n');
+                out.flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.forEach(result -> result.cancel(true));
+                throw new IOException("Batch validation was interrupted.", e);
+            } catch (ExecutionException e) {
+                // validate() does not throw
+                throw new IOException("Batch validation failed.", e.getCause());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
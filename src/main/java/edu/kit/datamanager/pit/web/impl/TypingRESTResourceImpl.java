@@ -2,6 +2,7 @@ package edu.kit.datamanager.pit.web.impl;
 
 import edu.kit.datamanager.exceptions.CustomInternalServerError;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -21,6 +22,7 @@ import edu.kit.datamanager.pit.pidgeneration.PidSuffixGenerator;
 import edu.kit.datamanager.pit.pidlog.KnownPid;
 import edu.kit.datamanager.pit.pidlog.KnownPidsDao;
 import edu.kit.datamanager.pit.pitservice.ITypingService;
+import edu.kit.datamanager.pit.pitservice.ValidationMode;
 import edu.kit.datamanager.pit.web.ITypingRestResource;
 import edu.kit.datamanager.pit.web.TabulatorPaginationFormat;
 import edu.kit.datamanager.service.IMessagingService;
@@ -29,6 +31,7 @@ import edu.kit.datamanager.util.AuthenticationHelper;
 import edu.kit.datamanager.util.ControllerUtils;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.stream.Streams;
@@ -40,12 +43,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @RestController
@@ -76,6 +81,9 @@ public class TypingRESTResourceImpl implements ITypingRestResource {
     @Autowired
     private PidGenerationProperties pidGenerationProperties;
 
+    @Autowired
+    private BatchValidator batchValidator;
+
     public TypingRESTResourceImpl() {
         super();
     }
@@ -84,6 +92,7 @@ public class TypingRESTResourceImpl implements ITypingRestResource {
     public ResponseEntity<PIDRecord> createPID(
             PIDRecord pidRecord,
             boolean dryrun,
+            ValidationMode validationMode,
 
             final WebRequest request,
             final HttpServletResponse response,
@@ -97,7 +106,7 @@ public class TypingRESTResourceImpl implements ITypingRestResource {
             setPid(pidRecord);
         }
 
-        this.typingService.validate(pidRecord);
+        this.typingService.validate(pidRecord, validationMode);
 
         if (dryrun) {
             // dryrun only does validation. Stop now and return as we would later on.
@@ -124,6 +133,24 @@ public class TypingRESTResourceImpl implements ITypingRestResource {
         return ResponseEntity.status(HttpStatus.CREATED).eTag(quotedEtag(pidRecord)).body(pidRecord);
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> validateRecords(
+            ValidationMode validationMode,
+            final HttpServletRequest request
+    ) throws IOException {
+        boolean isArray = MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()));
+        InputStream body = request.getInputStream();
+        LOG.info("Validating batch of records");
+        StreamingResponseBody results = out -> {
+            if (isArray) {
+                batchValidator.validateArray(body, validationMode, out);
+            } else {
+                batchValidator.validateLines(body, validationMode, out);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(results);
+    }
+
     private boolean hasPid(PIDRecord pidRecord) {
         return pidRecord.getPid() != null && !pidRecord.getPid().isBlank();
     }
@@ -162,6 +189,7 @@ public class TypingRESTResourceImpl implements ITypingRestResource {
     public ResponseEntity<PIDRecord> updatePID(
             PIDRecord pidRecord,
             boolean dryrun,
+            ValidationMode validationMode,
 
             final WebRequest request,
             final HttpServletResponse response,
@@ -183,7 +211,7 @@ public class TypingRESTResourceImpl implements ITypingRestResource {
 
         // record validation
         pidRecord.setPid(pid);
-        this.typingService.validate(pidRecord);
+        this.typingService.validate(pidRecord, validationMode);
 
         // throws exception (HTTP 412) if check fails.
         ControllerUtils.checkEtag(request, existingRecord);
@@ -1,11 +1,14 @@
 package edu.kit.datamanager.pit.domain;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +16,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import edu.kit.datamanager.pit.common.TypeNotFoundException;
+import edu.kit.datamanager.pit.domain.DateTypeIndex.DateKind;
 import edu.kit.datamanager.pit.pitservice.ITypingService;
 import edu.kit.datamanager.pit.web.ApiMockUtils;
 
@@ -101,4 +110,49 @@ class OperationsTest {
         Optional<Date> date = typingService.getOperations().extractDate(dateStr);
         assertTrue(date.isEmpty());
     }
+
+    @Test
+    void testFindDateByNameOfType() {
+        AtomicInteger loads = new AtomicInteger();
+        LoadingCache<String, TypeDefinition> typeCache = CacheBuilder.newBuilder()
+                .build(new CacheLoader<String, TypeDefinition>() {
+                    @Override
+                    public TypeDefinition load(String typeIdentifier) throws TypeNotFoundException {
+                        loads.incrementAndGet();
+                        if (!typeIdentifier.equals("21.T11148/customCreationDate")) {
+                            throw new TypeNotFoundException(typeIdentifier);
+                        }
+                        return TypeDefinition.builder()
+                                .identifier(typeIdentifier)
+                                .name("creationDate")
+                                .build();
+                    }
+                });
+        DateTypeIndex dateTypes = new DateTypeIndex();
+        Operations operations = new Operations(typeCache, dateTypes);
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry("21.T11148/customCreationDate", "", VALID_DATE);
+        pidRecord.addEntry("21.T11148/customCreationDate", "", "2020-01-01T00:00:00Z");
+
+        // not cached, so it is neither loaded nor recognized
+        assertTrue(operations.findDateCreated(pidRecord).isEmpty());
+        assertEquals(0, loads.get());
+
+        // cached, but not indexed yet
+        typeCache.getUnchecked("21.T11148/customCreationDate");
+        Optional<Date> date = operations.findDateCreated(pidRecord);
+        assertEquals(Date.from(Instant.parse("2020-01-01T00:00:00Z")), date.get());
+        assertEquals(DateKind.CREATED, dateTypes.get("21.T11148/customCreationDate"));
+        assertTrue(operations.findDateModified(pidRecord).isEmpty());
+        assertEquals(1, loads.get());
+
+        // unknown types are no dates
+        pidRecord.addEntry("21.T11148/unknown", "", VALID_DATE);
+        assertEquals(date, operations.findDateCreated(pidRecord));
+
+        // known types take precedence
+        pidRecord.addEntry("21.T11148/aafd5fb4c7222e2d950a", "", VALID_DATE);
+        date = operations.findDateCreated(pidRecord);
+        assertEquals(Date.from(Instant.parse(VALID_DATE.replace("+00:00", "Z"))), date.get());
+    }
 }
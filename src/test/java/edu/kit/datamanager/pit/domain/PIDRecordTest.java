@@ -1,11 +1,13 @@
 package edu.kit.datamanager.pit.domain;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -208,6 +210,155 @@ class PIDRecordTest {
         this.equals(first, second);
     }
 
+    @Test
+    void recordsShareKeysAndNames() {
+        PIDRecord first = new PIDRecord();
+        first.addEntry(new String("21.T11148/key"), new String("name"), "value1");
+        PIDRecord second = new PIDRecord();
+        second.addEntry(new String("21.T11148/key"), new String("name"), "value2");
+
+        String firstKey = first.getPropertyIdentifiers().iterator().next();
+        assertTrue(firstKey == second.getPropertyIdentifiers().iterator().next());
+        PIDRecordEntry firstEntry = first.getEntries().get(firstKey).get(0);
+        PIDRecordEntry secondEntry = second.getEntries().get(firstKey).get(0);
+        assertTrue(firstEntry.getKey() == firstKey);
+        assertTrue(firstEntry.getName() == secondEntry.getName());
+    }
+
+    @Test
+    void setEntriesSharesKeys() {
+        PIDRecord first = new PIDRecord();
+        first.addEntry("21.T11148/key", "value");
+        PIDRecordEntry entry = new PIDRecordEntry();
+        entry.setKey(new String("21.T11148/key"));
+        entry.setValue("other value");
+        PIDRecord second = new PIDRecord();
+        second.setEntries(Map.of(new String("21.T11148/key"), List.of(entry)));
+
+        String key = first.getPropertyIdentifiers().iterator().next();
+        assertTrue(key == second.getPropertyIdentifiers().iterator().next());
+        assertTrue(key == second.getEntries().get(key).get(0).getKey());
+        assertEquals("other value", second.getPropertyValue(key));
+        // the given entries are copied, not modified
+        assertFalse(key == entry.getKey());
+        entry.setValue("changed");
+        assertEquals("other value", second.getPropertyValue(key));
+    }
+
+    @Test
+    void etagIsStrongDigest() {
+        PIDRecord first = new PIDRecord().withPID(PID);
+        first.addEntry("key", "value");
+        assertTrue(first.getEtag().matches("[0-9a-f]{64}"));
+
+        PIDRecord similar = new PIDRecord().withPID(PID);
+        similar.addEntry("keyv", "alue");
+        this.notEquals(first, similar);
+    }
+
+    @Test
+    void etagFollowsModifications() {
+        PIDRecord rec = new PIDRecord().withPID(PID);
+        rec.addEntry("key", "value");
+        String etag = rec.getEtag();
+        assertEquals(etag, rec.getEtag());
+
+        rec.addEntry("other", "value");
+        String added = rec.getEtag();
+        assertNotEquals(etag, added);
+
+        rec.getEntries().get("other").get(0).setValue("changed");
+        assertNotEquals(added, rec.getEtag());
+
+        rec.removeAllValuesOf("other");
+        assertEquals(etag, rec.getEtag());
+
+        rec.setPid("other/pid");
+        assertNotEquals(etag, rec.getEtag());
+    }
+
+    @Test
+    void entriesAreSortedByKey() {
+        PIDRecord rec = new PIDRecord();
+        rec.addEntry("b", "b1");
+        rec.addEntry("a", "a1");
+        rec.addEntry("c", "c1");
+        rec.addEntry("b", "b2");
+        assertEquals(List.of("a", "b", "c"), List.copyOf(rec.getEntries().keySet()));
+        assertArrayEquals(new String[] {"b1", "b2"}, rec.getPropertyValues("b"));
+
+        rec.removeAllValuesOf("b");
+        assertEquals(List.of("a", "c"), List.copyOf(rec.getPropertyIdentifiers()));
+        assertEquals("c1", rec.getPropertyValue("c"));
+        assertEquals("", rec.getPropertyValue("b"));
+    }
+
+    @Test
+    void valuesCanBeReadByIndex() {
+        PIDRecord rec = new PIDRecord();
+        rec.addEntry("b", "name", "b1");
+        rec.addEntry("a", "a1");
+        rec.addEntry("b", "name", "b2");
+        assertEquals(3, rec.valueCount());
+        assertEquals(1, rec.endOfAttribute(0));
+        assertEquals(3, rec.endOfAttribute(1));
+        assertEquals(3, rec.endOfAttribute(2));
+        assertEquals("a", rec.keyAt(0));
+        assertEquals("a1", rec.valueAt(0));
+        assertEquals("b", rec.keyAt(2));
+        assertEquals("name", rec.nameAt(2));
+        assertEquals("b2", rec.valueAt(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> rec.valueAt(3));
+    }
+
+    @Test
+    void entriesAreViewsOfTheRecord() {
+        PIDRecord rec = new PIDRecord().withPID(PID);
+        rec.addEntry("key", "name", "value");
+        Map<String, List<PIDRecordEntry>> entries = rec.getEntries();
+        assertEquals(new PIDRecordEntry("key", "name", "value"), entries.get("key").get(0));
+
+        String etag = rec.getEtag();
+        entries.get("key").add(new PIDRecordEntry("ignored", "name", "second"));
+        assertArrayEquals(new String[] {"value", "second"}, rec.getPropertyValues("key"));
+        assertNotEquals(etag, rec.getEtag());
+
+        etag = rec.getEtag();
+        entries.get("key").get(1).setKey("other");
+        assertArrayEquals(new String[] {"value"}, rec.getPropertyValues("key"));
+        assertEquals("second", rec.getPropertyValue("other"));
+        assertNotEquals(etag, rec.getEtag());
+
+        etag = rec.getEtag();
+        entries.put("key", List.of(new PIDRecordEntry("key", "name", "replaced")));
+        assertEquals("replaced", rec.getPropertyValue("key"));
+        assertNotEquals(etag, rec.getEtag());
+
+        etag = rec.getEtag();
+        entries.remove("other");
+        assertFalse(rec.hasProperty("other"));
+        assertNotEquals(etag, rec.getEtag());
+
+        rec.getPropertyIdentifiers().clear();
+        assertTrue(entries.isEmpty());
+        assertEquals(0, rec.valueCount());
+    }
+
+    @Test
+    void hashedRecordsStayConsistent() {
+        PIDRecord rec = new PIDRecord().withPID(PID);
+        rec.addEntry("key", "value");
+        Set<PIDRecord> records = new HashSet<>(Set.of(rec));
+        rec.getEntries();
+        assertTrue(records.contains(rec));
+
+        PIDRecord copy = new PIDRecord().withPID(PID);
+        copy.setEntries(rec.getEntries());
+        this.equals(rec, copy);
+        copy.addEntry("key", "other");
+        this.notEquals(rec, copy);
+    }
+
     private void equals(PIDRecord first, PIDRecord second) {
         assertEquals(first, second);
         assertEquals(second, first);
@@ -57,7 +57,7 @@ class TypeDefinitionTest {
 
         ObjectMapper mapper = new ObjectMapper();
         TypeDefinition def = mapper.readValue(type, TypeDefinition.class);
-        System.out.println("DEF " + def.getExpression());
+        System.out.println("DEF " + def.getName());
         assertNotNull(def);
     }
 }
@@ -93,9 +93,10 @@ public class IIdentifierSystemQueryTest {
     @ParameterizedTest
     @MethodSource("implProvider")
     public void querySingleProperty(IIdentifierSystem impl, String pid) throws IOException {
-        TypeDefinition type = new TypeDefinition();
-        type.setIdentifier("10320/loc");
-        type.setDescription("FakeType for testing. Actually describing the location in some handle specific format, and no registered type");
+        TypeDefinition type = TypeDefinition.builder()
+                .identifier("10320/loc")
+                .description("FakeType for testing. Actually describing the location in some handle specific format, and no registered type")
+                .build();
         String property = impl.queryProperty(pid, type);
         assertTrue(property.contains("objects/21.T11148/076759916209e5d62bd5\" weight=\"1\" view=\"json\""));
         assertTrue(property.contains("#objects/21.T11148/076759916209e5d62bd5\" weight=\"0\" view=\"ui\""));
@@ -104,9 +105,10 @@ public class IIdentifierSystemQueryTest {
     @ParameterizedTest
     @MethodSource("implProvider")
     public void queryNonexistentProperty(IIdentifierSystem impl, String pid) throws IOException {
-        TypeDefinition type = new TypeDefinition();
-        type.setIdentifier("Nonexistent_Property");
-        type.setDescription("FakeType for testing. Does not exist and query should fail somehow.");
+        TypeDefinition type = TypeDefinition.builder()
+                .identifier("Nonexistent_Property")
+                .description("FakeType for testing. Does not exist and query should fail somehow.")
+                .build();
         String property = impl.queryProperty(pid, type);
         assertNull(property);
     }
@@ -114,9 +116,10 @@ public class IIdentifierSystemQueryTest {
     @ParameterizedTest
     @MethodSource("implProvider")
     public void queryPropertyOfNonexistent(IIdentifierSystem impl, String pid, String pid_nonexist) throws IOException {
-        TypeDefinition type = new TypeDefinition();
-        type.setIdentifier("Nonexistent_Property");
-        type.setDescription("FakeType for testing. Does not exist and query should fail somehow.");
+        TypeDefinition type = TypeDefinition.builder()
+                .identifier("Nonexistent_Property")
+                .description("FakeType for testing. Does not exist and query should fail somehow.")
+                .build();
         assertThrows(PidNotFoundException.class, () -> {
             impl.queryProperty(pid_nonexist, type);
         });
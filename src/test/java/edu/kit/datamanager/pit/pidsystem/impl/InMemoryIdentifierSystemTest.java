@@ -5,13 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
-import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import edu.kit.datamanager.pit.common.InvalidConfigException;
 import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.PropertyBinding;
 import edu.kit.datamanager.pit.domain.TypeDefinition;
 
 class InMemoryIdentifierSystemTest {
@@ -25,19 +25,15 @@ class InMemoryIdentifierSystemTest {
     @BeforeEach
     void setup() {
         this.sys = new InMemoryIdentifierSystem();
-        this.t1 = new TypeDefinition();
-        this.t1.setIdentifier("attribute1");
-        this.t2 = new TypeDefinition();
-        this.t2.setIdentifier("attribute2");
-        this.t3 = new TypeDefinition();
-        this.t3.setIdentifier("attribute3");
+        this.t1 = TypeDefinition.builder().identifier("attribute1").build();
+        this.t2 = TypeDefinition.builder().identifier("attribute2").build();
+        this.t3 = TypeDefinition.builder().identifier("attribute3").build();
     
-        this.profile = new TypeDefinition();
-        this.profile.setSubTypes(Map.of(
-            this.t1.getIdentifier(), this.t1,
-            this.t2.getIdentifier(), this.t2,
-            this.t3.getIdentifier(), this.t3
-        ));
+        this.profile = TypeDefinition.builder()
+            .property(this.t1.getIdentifier(), PropertyBinding.to(this.t1))
+            .property(this.t2.getIdentifier(), PropertyBinding.to(this.t2))
+            .property(this.t3.getIdentifier(), PropertyBinding.to(this.t3))
+            .build();
     }
 
     @Test
@@ -9,7 +9,6 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import edu.kit.datamanager.pit.common.InvalidConfigException;
 import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.PropertyBinding;
 import edu.kit.datamanager.pit.domain.TypeDefinition;
 import edu.kit.datamanager.pit.pidsystem.IIdentifierSystemQueryTest;
 
@@ -63,19 +63,15 @@ class LocalPidSystemTest {
         // ensure DB is empty
         localPidSystem.getDatabase().deleteAll();
         // prepare types and profiles
-        this.t1 = new TypeDefinition();
-        this.t1.setIdentifier("attribute1");
-        this.t2 = new TypeDefinition();
-        this.t2.setIdentifier("attribute2");
-        this.t3 = new TypeDefinition();
-        this.t3.setIdentifier("attribute3");
+        this.t1 = TypeDefinition.builder().identifier("attribute1").build();
+        this.t2 = TypeDefinition.builder().identifier("attribute2").build();
+        this.t3 = TypeDefinition.builder().identifier("attribute3").build();
     
-        this.profile = new TypeDefinition();
-        this.profile.setSubTypes(Map.of(
-            this.t1.getIdentifier(), this.t1,
-            this.t2.getIdentifier(), this.t2,
-            this.t3.getIdentifier(), this.t3
-        ));
+        this.profile = TypeDefinition.builder()
+            .property(this.t1.getIdentifier(), PropertyBinding.to(this.t1))
+            .property(this.t2.getIdentifier(), PropertyBinding.to(this.t2))
+            .property(this.t3.getIdentifier(), PropertyBinding.to(this.t3))
+            .build();
     }
     
     @Test
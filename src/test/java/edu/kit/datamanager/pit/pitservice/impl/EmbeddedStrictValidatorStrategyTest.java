@@ -0,0 +1,47 @@
+package edu.kit.datamanager.pit.pitservice.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.datamanager.pit.domain.PropertyBinding;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+
+class EmbeddedStrictValidatorStrategyTest {
+
+    static final String MANDATORY = ValidationPlanTest.MANDATORY;
+    static final String OPTIONAL = ValidationPlanTest.OPTIONAL;
+    static final Map<String, TypeDefinition> TYPES = ValidationPlanTest.TYPES;
+
+    static final TypeDefinition OTHER = TypeDefinition.builder()
+            .identifier("21.T11148/other")
+            .property(OPTIONAL, new PropertyBinding("text", OPTIONAL, false, false, null, null, TYPES))
+            .build();
+
+    EmbeddedStrictValidatorStrategy strategy = new EmbeddedStrictValidatorStrategy();
+
+    @Test
+    void reusesMergedPlans() {
+        List<TypeDefinition> profiles = List.of(ValidationPlanTest.PROFILE, OTHER);
+        ValidationPlan merged = strategy.getPlan(profiles);
+        assertEquals("21.T11148/profile, 21.T11148/other", merged.getProfileIdentifier());
+        assertSame(merged, strategy.getPlan(List.of(ValidationPlanTest.PROFILE, OTHER)));
+        assertNotSame(merged, strategy.getPlan(List.of(OTHER, ValidationPlanTest.PROFILE)));
+    }
+
+    @Test
+    void mergesRefreshedProfilesAgain() {
+        ValidationPlan merged = strategy.getPlan(List.of(ValidationPlanTest.PROFILE, OTHER));
+        TypeDefinition refreshed = OTHER.toBuilder()
+                .property(MANDATORY, new PropertyBinding("number", MANDATORY, true, false, null, null, TYPES))
+                .build();
+        ValidationPlan remerged = strategy.getPlan(List.of(ValidationPlanTest.PROFILE, refreshed));
+        assertNotSame(merged, remerged);
+        assertEquals(ValidationPlanTest.NUMBER, remerged.getAttributeType(MANDATORY));
+    }
+}
@@ -0,0 +1,112 @@
+package edu.kit.datamanager.pit.pitservice.impl;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.kit.datamanager.pit.common.RecordValidationException;
+import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.PropertyBinding;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.domain.Violation;
+import edu.kit.datamanager.pit.typeregistry.schema.EveritSchemaEngine;
+import edu.kit.datamanager.pit.typeregistry.schema.NetworkntSchemaEngine;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaCompiler;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaEngine;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaPool;
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationMemo;
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationProfiler;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaEngines;
+
+class RecordSchemaTest {
+
+    static final String NUMBER = "21.T11148/number";
+    static final String TEXT = "21.T11148/text";
+
+    static final String NUMBER_SCHEMA = "{\"type\": \"string\", \"pattern\": \"^[0-9]+$\"}";
+    static final String TEXT_SCHEMA = "{\"type\": \"string\"}";
+
+    static final SchemaCompiler COMPILER = new SchemaCompiler(
+            new EveritSchemaEngine(new SchemaPool()), new ValidationMemo(1000), new ValidationProfiler());
+
+    static final Map<String, TypeDefinition> TYPES = Map.of(
+            NUMBER, TypeDefinition.builder().identifier(NUMBER).schema(COMPILER.compile(NUMBER_SCHEMA)).build(),
+            TEXT, TypeDefinition.builder().identifier(TEXT).schema(COMPILER.compile(TEXT_SCHEMA)).build());
+
+    static TypeDefinition profile(String schema) {
+        return TypeDefinition.builder()
+                .identifier("21.T11148/profile")
+                .schema(schema == null ? null : COMPILER.compile(schema))
+                .property(NUMBER, new PropertyBinding("number", NUMBER, false, false, null, null, TYPES))
+                .property(TEXT, new PropertyBinding("text", TEXT, true, true, null, null, TYPES))
+                .build();
+    }
+
+    static final TypeDefinition BY_NAME = profile("{\"type\": \"object\", \"properties\": {"
+            + "\"number\": " + NUMBER_SCHEMA + ", "
+            + "\"text\": {\"type\": \"array\", \"items\": " + TEXT_SCHEMA + "}}, "
+            + "\"required\": [\"number\"], \"additionalProperties\": false}");
+
+    static final TypeDefinition BY_IDENTIFIER = profile("{\"type\": \"object\", \"properties\": {"
+            + "\"" + NUMBER + "\": " + NUMBER_SCHEMA + "}, "
+            + "\"required\": [\"" + NUMBER + "\"]}");
+
+    @ParameterizedTest
+    @ValueSource(strings = {EveritSchemaEngine.NAME, NetworkntSchemaEngine.NAME})
+    void rendersRecordByName(String engine) {
+        RecordSchema schema = RecordSchema.compile(BY_NAME, SchemaEngines.create(engine, new SchemaPool())).orElseThrow();
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(NUMBER, "42");
+        pidRecord.addEntry(TEXT, "some text");
+        Map<String, Object> json = schema.render(pidRecord);
+        assertEquals("42", json.get("number"));
+        assertEquals(List.of("some text"), json.get("text"));
+        assertDoesNotThrow(() -> schema.validate(pidRecord));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {EveritSchemaEngine.NAME, NetworkntSchemaEngine.NAME})
+    void rendersRecordByIdentifier(String engine) {
+        RecordSchema schema = RecordSchema.compile(BY_IDENTIFIER, SchemaEngines.create(engine, new SchemaPool())).orElseThrow();
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(NUMBER, "42");
+        assertEquals("42", schema.render(pidRecord).get(NUMBER));
+        assertDoesNotThrow(() -> schema.validate(pidRecord));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {EveritSchemaEngine.NAME, NetworkntSchemaEngine.NAME})
+    void invalidRecordFails(String engine) {
+        RecordSchema schema = RecordSchema.compile(BY_NAME, SchemaEngines.create(engine, new SchemaPool())).orElseThrow();
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(NUMBER, "not a number");
+        assertThrows(RecordValidationException.class, () -> schema.validate(pidRecord));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {EveritSchemaEngine.NAME, NetworkntSchemaEngine.NAME})
+    void collectsViolationsByAttribute(String engine) {
+        RecordSchema schema = RecordSchema.compile(BY_NAME, SchemaEngines.create(engine, new SchemaPool())).orElseThrow();
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(NUMBER, "not a number");
+        pidRecord.addEntry("21.T11148/unknown", "value");
+        List<Violation> violations = schema.collectViolations(pidRecord);
+        assertEquals(2, violations.size());
+        assertTrue(violations.stream().anyMatch(v -> NUMBER.equals(v.getAttribute())));
+    }
+
+    @Test
+    void profilesWithoutObjectSchemaAreNotCompiled() {
+        SchemaEngine engine = new EveritSchemaEngine(new SchemaPool());
+        assertTrue(RecordSchema.compile(profile(null), engine).isEmpty());
+        assertTrue(RecordSchema.compile(profile(TEXT_SCHEMA), engine).isEmpty());
+    }
+}
@@ -0,0 +1,173 @@
+package edu.kit.datamanager.pit.pitservice.impl;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.datamanager.pit.common.RecordValidationException;
+import edu.kit.datamanager.pit.domain.PIDRecord;
+import edu.kit.datamanager.pit.domain.PropertyBinding;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.domain.Violation;
+import edu.kit.datamanager.pit.typeregistry.schema.EveritSchemaEngine;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaCompiler;
+import edu.kit.datamanager.pit.typeregistry.schema.SchemaPool;
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationMemo;
+import edu.kit.datamanager.pit.typeregistry.schema.ValidationProfiler;
+
+class ValidationPlanTest {
+
+    static final String MANDATORY = "21.T11148/mandatory";
+    static final String OPTIONAL = "21.T11148/optional";
+
+    static final SchemaCompiler COMPILER = new SchemaCompiler(
+            new EveritSchemaEngine(new SchemaPool()), new ValidationMemo(1000), new ValidationProfiler());
+
+    static final TypeDefinition NUMBER = TypeDefinition.builder()
+            .identifier(MANDATORY)
+            .schema(COMPILER.compile("{\"type\": \"string\", \"pattern\": \"^[0-9]+$\"}"))
+            .build();
+    static final TypeDefinition TEXT = TypeDefinition.builder()
+            .identifier(OPTIONAL)
+            .schema(COMPILER.compile("{\"type\": \"string\"}"))
+            .build();
+    static final Map<String, TypeDefinition> TYPES = Map.of(MANDATORY, NUMBER, OPTIONAL, TEXT);
+
+    static final TypeDefinition PROFILE = TypeDefinition.builder()
+            .identifier("21.T11148/profile")
+            .property(MANDATORY, new PropertyBinding("number", MANDATORY, false, false, null, null, TYPES))
+            .property(OPTIONAL, new PropertyBinding("text", OPTIONAL, true, true, null, null, TYPES))
+            .build();
+
+    ValidationPlan plan = ValidationPlan.compile(PROFILE);
+
+    @Test
+    void compilesProfileRules() {
+        assertEquals(Set.of(MANDATORY), plan.getMandatoryAttributes());
+        assertEquals(NUMBER, plan.getAttributeType(MANDATORY));
+        assertTrue(plan.isRepeatable(OPTIONAL));
+        assertFalse(plan.isRepeatable(MANDATORY));
+    }
+
+    @Test
+    void validRecordPasses() {
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(MANDATORY, "42");
+        pidRecord.addEntry(OPTIONAL, "some text");
+        assertDoesNotThrow(() -> plan.validate(pidRecord));
+    }
+
+    @Test
+    void missingMandatoryAttributeFails() {
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(OPTIONAL, "some text");
+        RecordValidationException e = assertThrows(RecordValidationException.class, () -> plan.validate(pidRecord));
+        assertTrue(e.getMessage().contains(MANDATORY));
+    }
+
+    @Test
+    void unknownAttributeFails() {
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(MANDATORY, "42");
+        pidRecord.addEntry("21.T11148/unknown", "value");
+        assertThrows(RecordValidationException.class, () -> plan.validate(pidRecord));
+    }
+
+    @Test
+    void invalidValueFails() {
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(MANDATORY, "42");
+        pidRecord.addEntry(MANDATORY, "not a number");
+        assertThrows(RecordValidationException.class, () -> plan.validate(pidRecord));
+    }
+
+    @Test
+    void collectsAllViolations() {
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(OPTIONAL, "some text");
+        pidRecord.addEntry("21.T11148/unknown", "value");
+        List<Violation> violations = plan.collectViolations(pidRecord);
+        assertEquals(2, violations.size());
+        assertEquals(MANDATORY, violations.get(0).getAttribute());
+        assertEquals("21.T11148/unknown", violations.get(1).getAttribute());
+    }
+
+    @Test
+    void collectsViolationsOfLargeRecordsInParallel() {
+        PIDRecord pidRecord = new PIDRecord();
+        for (int i = 0; i < ValidationPlan.PARALLEL_THRESHOLD * 2; i++) {
+            pidRecord.addEntry(MANDATORY, i % 2 == 0 ? String.valueOf(i) : "invalid " + i);
+        }
+        List<Violation> violations = plan.collectViolations(pidRecord);
+        assertEquals(ValidationPlan.PARALLEL_THRESHOLD, violations.size());
+        assertEquals("invalid 1", violations.get(0).getValue());
+        assertTrue(violations.stream().allMatch(v -> NUMBER.getIdentifier().equals(v.getType())));
+    }
+
+    @Test
+    void validRecordHasNoViolations() {
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(MANDATORY, "42");
+        assertTrue(plan.collectViolations(pidRecord).isEmpty());
+    }
+
+    @Test
+    void mergesProfiles() {
+        TypeDefinition other = TypeDefinition.builder()
+                .identifier("21.T11148/other")
+                .property(OPTIONAL, new PropertyBinding("text", OPTIONAL, false, false, null, null, TYPES))
+                .build();
+        ValidationPlan merged = ValidationPlan.merge(List.of(plan, ValidationPlan.compile(other)));
+        assertEquals(Set.of(MANDATORY, OPTIONAL), merged.getMandatoryAttributes());
+        assertEquals(TEXT, merged.getAttributeType(OPTIONAL));
+        assertEquals(null, merged.getAttributeType(MANDATORY));
+        assertFalse(merged.isRepeatable(OPTIONAL));
+
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(OPTIONAL, "some text");
+        List<Violation> violations = merged.collectViolations(pidRecord);
+        assertEquals(1, violations.size());
+        assertEquals(PROFILE.getIdentifier(), violations.get(0).getProfile());
+
+        pidRecord.addEntry(MANDATORY, "42");
+        RecordValidationException e = assertThrows(RecordValidationException.class, () -> merged.validate(pidRecord));
+        assertTrue(e.getMessage().contains(other.getIdentifier()));
+    }
+
+    @Test
+    void mergingSinglePlanKeepsIt() {
+        assertTrue(plan == ValidationPlan.merge(List.of(plan, plan)));
+    }
+
+    @Test
+    void additionalTypesAllowFurtherAttributes() {
+        TypeDefinition extra = TypeDefinition.builder()
+                .identifier("21.T11148/extra")
+                .schema(COMPILER.compile("{\"type\": \"string\", \"pattern\": \"^[a-z]+$\"}"))
+                .build();
+        PIDRecord pidRecord = new PIDRecord();
+        pidRecord.addEntry(MANDATORY, "42");
+        pidRecord.addEntry(extra.getIdentifier(), "abc");
+        pidRecord.addEntry("21.T11148/unknown", "value");
+        assertEquals(Set.of(extra.getIdentifier(), "21.T11148/unknown"), plan.unknownAttributes(pidRecord));
+
+        ValidationPlan extended = plan.withAdditionalTypes(Map.of(extra.getIdentifier(), extra, MANDATORY, TEXT));
+        assertEquals(NUMBER, extended.getAttributeType(MANDATORY));
+        assertEquals(Set.of("21.T11148/unknown"), extended.unknownAttributes(pidRecord));
+        List<Violation> violations = extended.collectViolations(pidRecord);
+        assertEquals(1, violations.size());
+        assertEquals("21.T11148/unknown", violations.get(0).getAttribute());
+
+        pidRecord.addEntry(extra.getIdentifier(), "ABC");
+        assertEquals(2, extended.collectViolations(pidRecord).size());
+        assertTrue(plan == plan.withAdditionalTypes(Map.of(MANDATORY, NUMBER)));
+    }
+}
@@ -0,0 +1,78 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+
+/**
+ * Checks that definitions stored in the database are used instead of the type
+ * registry, as long as they are recent enough.
+ */
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test/application-test.properties",
+        properties = "pit.typeregistry.cache.shared.enabled=true")
+@ActiveProfiles("test")
+class SharedTypeCacheTest {
+
+    static final String TYPE = "21.T11148/sharedtype";
+    static final String OUTDATED = "21.T11148/outdatedtype";
+
+    static final StubTypeRegistry STUB_REGISTRY = new StubTypeRegistry()
+            .withSimpleType(TYPE)
+            .withSimpleType(OUTDATED);
+
+    @Autowired
+    TypeRegistry typeRegistry;
+
+    @Autowired
+    SharedTypeDefinitionDao dao;
+
+    @DynamicPropertySource
+    static void registryProperties(DynamicPropertyRegistry registry) {
+        registry.add("pit.pidsystem.handle.baseURI", STUB_REGISTRY::baseUri);
+    }
+
+    @AfterAll
+    static void stopStubRegistry() {
+        STUB_REGISTRY.stop();
+    }
+
+    @Test
+    void fetchedTypesAreShared() throws IOException, URISyntaxException {
+        TypeDefinition fetched = typeRegistry.queryTypeDefinition(TYPE);
+        assertTrue(dao.existsById(TYPE));
+
+        TypeDefinition shared = typeRegistry.queryTypeDefinition(TYPE);
+        assertEquals(1, STUB_REGISTRY.requestsFor(TYPE));
+        assertEquals(fetched, shared);
+    }
+
+    @Test
+    void outdatedTypesAreFetchedAgain() throws IOException, URISyntaxException {
+        typeRegistry.queryTypeDefinition(OUTDATED);
+        SharedTypeDefinition stored = dao.findById(OUTDATED).orElseThrow();
+        Instant outdated = Instant.now().minus(Duration.ofDays(1));
+        stored.setFetched(outdated);
+        dao.save(stored);
+
+        typeRegistry.queryTypeDefinition(OUTDATED);
+        assertEquals(2, STUB_REGISTRY.requestsFor(OUTDATED));
+        assertTrue(dao.findById(OUTDATED).orElseThrow().getFetched().isAfter(outdated));
+    }
+}
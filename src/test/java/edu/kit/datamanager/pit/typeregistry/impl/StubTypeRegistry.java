@@ -0,0 +1,131 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A minimal type registry serving type definitions from memory.
+ *
+ * Types are served at `/{prefix}/{suffix}` with an ETag. Requests with a
+ * matching `If-None-Match` header are answered with 304, unknown types with
+ * 404 and failing types with 500.
+ */
+class StubTypeRegistry {
+
+    private final HttpServer server;
+    private final Map<String, String> types = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final Map<String, Long> typeDelays = new ConcurrentHashMap<>();
+    private final Set<String> failingTypes = ConcurrentHashMap.newKeySet();
+    private volatile long delayMillis = 0;
+
+    StubTypeRegistry() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start stub registry.", e);
+        }
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    String baseUri() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    StubTypeRegistry withDelay(long delayMillis) {
+        this.delayMillis = delayMillis;
+        return this;
+    }
+
+    /**
+     * Adds a simple type, which is served after the given delay.
+     */
+    StubTypeRegistry withSlowType(String identifier, long delayMillis) {
+        typeDelays.put(identifier, delayMillis);
+        return withSimpleType(identifier);
+    }
+
+    /**
+     * Lets all requests for the given identifier fail with 500.
+     */
+    StubTypeRegistry withFailingType(String identifier) {
+        failingTypes.add(identifier);
+        return this;
+    }
+
+    StubTypeRegistry withType(String identifier, String json) {
+        types.put(identifier, json);
+        return this;
+    }
+
+    /**
+     * Adds a type with a string schema.
+     */
+    StubTypeRegistry withSimpleType(String identifier) {
+        return withType(identifier, "{\"identifier\": \"" + identifier + "\", \"name\": \"" + identifier
+                + "\", \"validationSchema\": \"{\\\"type\\\": \\\"string\\\"}\"}");
+    }
+
+    int requestsFor(String identifier) {
+        return requests.getOrDefault(identifier, new AtomicInteger()).get();
+    }
+
+    int notModifiedResponses() {
+        return notModified.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String identifier = exchange.getRequestURI().getPath().substring(1);
+        requests.computeIfAbsent(identifier, key -> new AtomicInteger()).incrementAndGet();
+        long delay = Math.max(delayMillis, typeDelays.getOrDefault(identifier, 0L));
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failingTypes.contains(identifier)) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+        String body = types.get(identifier);
+        if (body == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
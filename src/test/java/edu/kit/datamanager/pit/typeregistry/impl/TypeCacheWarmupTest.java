@@ -0,0 +1,94 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+
+class TypeCacheWarmupTest {
+
+    static final TypeSnapshotStore NO_SNAPSHOTS = new TypeSnapshotStore(null);
+
+    AtomicInteger loads = new AtomicInteger();
+
+    LoadingCache<String, TypeDefinition> slowCache(long delayMillis) {
+        return CacheBuilder.newBuilder().build(new CacheLoader<String, TypeDefinition>() {
+            @Override
+            public TypeDefinition load(String typeIdentifier) throws Exception {
+                loads.incrementAndGet();
+                Thread.sleep(delayMillis);
+                if (typeIdentifier.contains("missing")) {
+                    throw new IOException("Type not found: " + typeIdentifier);
+                }
+                return TypeDefinition.builder().identifier(typeIdentifier).build();
+            }
+        });
+    }
+
+    @Test
+    void loadsConfiguredTypesInParallel() {
+        LoadingCache<String, TypeDefinition> cache = slowCache(300);
+        List<String> types = List.of("21.T11148/a", "21.T11148/b", "21.T11148/c", "21.T11148/d");
+        TypeCacheWarmup warmup = new TypeCacheWarmup(cache, NO_SNAPSHOTS, types, Duration.ofSeconds(10), 4);
+
+        long start = System.currentTimeMillis();
+        warmup.run(null);
+        long duration = System.currentTimeMillis() - start;
+
+        types.forEach(type -> assertNotNull(cache.getIfPresent(type)));
+        assertTrue(duration < 2 * 300, "Warm-up took " + duration + "ms.");
+    }
+
+    @Test
+    void failingTypesDoNotStopWarmup() {
+        LoadingCache<String, TypeDefinition> cache = slowCache(0);
+        List<String> types = List.of("21.T11148/missing", "21.T11148/a");
+        new TypeCacheWarmup(cache, NO_SNAPSHOTS, types, Duration.ofSeconds(10), 1).run(null);
+
+        assertNull(cache.getIfPresent("21.T11148/missing"));
+        assertNotNull(cache.getIfPresent("21.T11148/a"));
+    }
+
+    @Test
+    void timeoutLimitsStartupDelay() {
+        LoadingCache<String, TypeDefinition> cache = slowCache(5000);
+        TypeCacheWarmup warmup = new TypeCacheWarmup(
+                cache, NO_SNAPSHOTS, List.of("21.T11148/a"), Duration.ofMillis(200), 1);
+
+        long start = System.currentTimeMillis();
+        warmup.run(null);
+        long duration = System.currentTimeMillis() - start;
+
+        assertTrue(duration < 2000, "Warm-up took " + duration + "ms.");
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void snapshotsWhichFailedToLoadAreNotRefreshed(@TempDir Path directory) throws IOException {
+        TypeSnapshotStore snapshots = new TypeSnapshotStore(directory);
+        snapshots.store("21.T11148/missing", new TypeSnapshotStore.Snapshot(
+                new ObjectMapper().readTree("{\"identifier\": \"21.T11148/missing\"}")));
+        LoadingCache<String, TypeDefinition> cache = slowCache(0);
+        new TypeCacheWarmup(cache, snapshots, Set.of(), Duration.ofSeconds(10), 1).run(null);
+
+        assertEquals(1, loads.get());
+        assertEquals(0, cache.size());
+    }
+}
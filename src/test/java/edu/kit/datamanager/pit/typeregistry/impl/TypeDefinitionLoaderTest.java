@@ -0,0 +1,110 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import edu.kit.datamanager.pit.common.TypeNotFoundException;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import edu.kit.datamanager.pit.typeregistry.ITypeRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TypeDefinitionLoaderTest {
+
+    static final String MISSING = "21.T11148/missing";
+    static final String SLOW = "21.T11148/slow";
+
+    AtomicInteger registryRequests = new AtomicInteger();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    ITypeRegistry registry = typeIdentifier -> {
+        registryRequests.incrementAndGet();
+        if (typeIdentifier.startsWith(SLOW)) {
+            // the suffix is the time to load the type in milliseconds
+            sleep(Long.parseLong(typeIdentifier.substring(SLOW.length())));
+        }
+        if (typeIdentifier.equals(MISSING)) {
+            throw new TypeNotFoundException(typeIdentifier);
+        }
+        return TypeDefinition.builder().identifier(typeIdentifier).build();
+    };
+
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    TypeDefinitionLoader loader(long unknownTypesTtl) {
+        return new TypeDefinitionLoader(() -> registry, 1, 10, 10, unknownTypesTtl, 2, meterRegistry);
+    }
+
+    @Test
+    void unknownTypesAreOnlyRequestedOnce() {
+        LoadingCache<String, TypeDefinition> cache = CacheBuilder.newBuilder().build(loader(60));
+
+        for (int i = 0; i < 3; i++) {
+            UncheckedExecutionException e = assertThrows(
+                    UncheckedExecutionException.class,
+                    () -> cache.get(MISSING));
+            assertInstanceOf(TypeNotFoundException.class, e.getCause());
+        }
+        assertEquals(1, registryRequests.get());
+    }
+
+    @Test
+    void unknownTypesAreRequestedAgainAfterLifetime() {
+        TypeDefinitionLoader loader = loader(0);
+        assertThrows(TypeNotFoundException.class, () -> loader.load(MISSING));
+        assertThrows(TypeNotFoundException.class, () -> loader.load(MISSING));
+        assertEquals(2, registryRequests.get());
+    }
+
+    @Test
+    void knownTypesAreLoaded() throws Exception {
+        assertEquals("21.T11148/known", loader(60).load("21.T11148/known").getIdentifier());
+    }
+
+    @Test
+    void loadsAreTimed() throws Exception {
+        TypeDefinitionLoader loader = loader(60);
+        loader.load("21.T11148/known");
+        assertThrows(TypeNotFoundException.class, () -> loader.load(MISSING));
+        // answered by the negative cache, so not timed
+        assertThrows(TypeNotFoundException.class, () -> loader.load(MISSING));
+
+        assertEquals(1, meterRegistry.get("pit.typeregistry.cache.load").tag("result", "success").timer().count());
+        assertEquals(1, meterRegistry.get("pit.typeregistry.cache.load").tag("result", "notfound").timer().count());
+    }
+
+    @Test
+    void onlySlowestLoadsAreReportedByType() throws Exception {
+        TypeDefinitionLoader loader = loader(60);
+        loader.load(SLOW + "50");
+        loader.load(SLOW + "0");
+        loader.load(SLOW + "100");
+
+        Set<String> reported = meterRegistry.get("pit.typeregistry.cache.load.slowest").gauges().stream()
+                .map(gauge -> gauge.getId().getTag("type"))
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(SLOW + "50", SLOW + "100"), reported);
+        Gauge slowest = meterRegistry.get("pit.typeregistry.cache.load.slowest")
+                .tag("type", SLOW + "100")
+                .gauge();
+        assertTrue(slowest.value() >= 0.1);
+    }
+}
@@ -0,0 +1,81 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+
+/**
+ * Resolves a profile from a local stub registry, where every sub-type takes a
+ * while to be delivered.
+ */
+@SpringBootTest
+@TestPropertySource("/test/application-test.properties")
+@ActiveProfiles("test")
+class TypeRegistryConcurrencyTest {
+
+    static final String PREFIX = "21.T11148/";
+    static final String PROFILE = PREFIX + "stubprofile";
+    static final int NUM_SUB_TYPES = 10;
+    static final long SUB_TYPE_DELAY_MILLIS = 500;
+
+    static final StubTypeRegistry STUB_REGISTRY = createStubRegistry();
+
+    @Autowired
+    TypeRegistry typeRegistry;
+
+    @DynamicPropertySource
+    static void registryProperties(DynamicPropertyRegistry registry) {
+        registry.add("pit.pidsystem.handle.baseURI", STUB_REGISTRY::baseUri);
+    }
+
+    @AfterAll
+    static void stopStubRegistry() {
+        STUB_REGISTRY.stop();
+    }
+
+    @Test
+    void coldLoadResolvesSubTypesConcurrently() throws IOException, URISyntaxException {
+        long start = System.currentTimeMillis();
+        TypeDefinition profile = typeRegistry.queryTypeDefinition(PROFILE);
+        long duration = System.currentTimeMillis() - start;
+
+        assertEquals(NUM_SUB_TYPES, profile.getSubTypes().size());
+        for (int i = 0; i < NUM_SUB_TYPES; i++) {
+            assertEquals(1, STUB_REGISTRY.requestsFor(PREFIX + "subtype" + i));
+        }
+        // The profile and its sub-types take 2 * SUB_TYPE_DELAY_MILLIS.
+        // Sequential resolution would take (NUM_SUB_TYPES + 1) * SUB_TYPE_DELAY_MILLIS.
+        assertTrue(
+                duration < 4 * SUB_TYPE_DELAY_MILLIS,
+                "Loading took " + duration + "ms, expected to be close to " + 2 * SUB_TYPE_DELAY_MILLIS + "ms.");
+    }
+
+    private static StubTypeRegistry createStubRegistry() {
+        StubTypeRegistry stub = new StubTypeRegistry().withDelay(SUB_TYPE_DELAY_MILLIS);
+        StringBuilder properties = new StringBuilder();
+        for (int i = 0; i < NUM_SUB_TYPES; i++) {
+            if (i > 0) {
+                properties.append(", ");
+            }
+            properties.append("{\"name\": \"attribute").append(i)
+                    .append("\", \"identifier\": \"").append(PREFIX).append("subtype").append(i)
+                    .append("\", \"representationsAndSemantics\": [{\"obligation\": \"Mandatory\", \"repeatable\": \"No\"}]}");
+            stub.withSimpleType(PREFIX + "subtype" + i);
+        }
+        return stub.withType(PROFILE,
+                "{\"identifier\": \"" + PROFILE + "\", \"name\": \"stubProfile\", \"properties\": [" + properties + "]}");
+    }
+}
@@ -0,0 +1,191 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import com.google.common.cache.LoadingCache;
+
+import edu.kit.datamanager.pit.common.TypeNotFoundException;
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Checks the communication with a local stub registry.
+ */
+@SpringBootTest
+@TestPropertySource("/test/application-test.properties")
+@ActiveProfiles("test")
+class TypeRegistryHttpTest {
+
+    static final String TYPE = "21.T11148/stubtype";
+    static final String MISSING = "21.T11148/missing";
+    static final String MALFORMED = "21.T11148/malformed";
+    static final String BULK_A = "21.T11148/bulk-a";
+    static final String BULK_B = "21.T11148/bulk-b";
+    static final String CYCLE_A = "21.T11148/cycle-a";
+    static final String CYCLE_B = "21.T11148/cycle-b";
+    static final String DIAMOND = "21.T11148/diamond";
+    static final String DIAMOND_LEFT = "21.T11148/diamond-left";
+    static final String DIAMOND_RIGHT = "21.T11148/diamond-right";
+    static final String DIAMOND_BOTTOM = "21.T11148/diamond-bottom";
+    static final String MANDATORY_USE = "21.T11148/mandatory-use";
+    static final String OPTIONAL_USE = "21.T11148/optional-use";
+    static final String SHARED_ATTRIBUTE = "21.T11148/shared-attribute";
+    static final String SLOW = "21.T11148/slow";
+    static final String FAILING = "21.T11148/failing";
+
+    static final StubTypeRegistry STUB_REGISTRY = new StubTypeRegistry()
+            .withSimpleType(TYPE)
+            .withSimpleType(BULK_A)
+            .withSimpleType(BULK_B)
+            .withType(MALFORMED, "{\"name\": ")
+            .withType(CYCLE_A, profile(CYCLE_A, CYCLE_B))
+            .withType(CYCLE_B, profile(CYCLE_B, CYCLE_A))
+            .withType(DIAMOND, profile(DIAMOND, DIAMOND_LEFT, DIAMOND_RIGHT))
+            .withType(DIAMOND_LEFT, profile(DIAMOND_LEFT, DIAMOND_BOTTOM))
+            .withType(DIAMOND_RIGHT, profile(DIAMOND_RIGHT, DIAMOND_BOTTOM))
+            .withSimpleType(DIAMOND_BOTTOM)
+            .withType(MANDATORY_USE, profileWithObligation(MANDATORY_USE, SHARED_ATTRIBUTE, "Mandatory"))
+            .withType(OPTIONAL_USE, profileWithObligation(OPTIONAL_USE, SHARED_ATTRIBUTE, "Optional"))
+            .withSimpleType(SHARED_ATTRIBUTE)
+            .withSlowType(SLOW, 500)
+            .withFailingType(FAILING);
+
+    @Autowired
+    TypeRegistry typeRegistry;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    LoadingCache<String, TypeDefinition> typeCache;
+
+    @DynamicPropertySource
+    static void registryProperties(DynamicPropertyRegistry registry) {
+        registry.add("pit.pidsystem.handle.baseURI", STUB_REGISTRY::baseUri);
+    }
+
+    @AfterAll
+    static void stopStubRegistry() {
+        STUB_REGISTRY.stop();
+    }
+
+    @Test
+    void unchangedTypeIsRevalidated() throws IOException, URISyntaxException {
+        TypeDefinition first = typeRegistry.queryTypeDefinition(TYPE);
+        TypeDefinition second = typeRegistry.queryTypeDefinition(TYPE);
+
+        assertEquals(2, STUB_REGISTRY.requestsFor(TYPE));
+        assertEquals(1, STUB_REGISTRY.notModifiedResponses());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void bulkQueryOmitsUnknownTypes() throws IOException {
+        Map<String, TypeDefinition> types = typeRegistry.queryTypeDefinitions(List.of(BULK_A, BULK_B, MISSING));
+
+        assertEquals(Set.of(BULK_A, BULK_B), types.keySet());
+        assertEquals(BULK_A, types.get(BULK_A).getIdentifier());
+        // the second query is answered by the type cache
+        typeRegistry.queryTypeDefinitions(List.of(BULK_A, BULK_B));
+        assertEquals(1, STUB_REGISTRY.requestsFor(BULK_A));
+        assertEquals(1, STUB_REGISTRY.requestsFor(BULK_B));
+    }
+
+    @Test
+    void failedBulkQueryLetsRunningLoadsFinish() throws Exception {
+        assertThrows(IOException.class, () -> typeRegistry.queryTypeDefinitions(List.of(FAILING, SLOW)));
+
+        // the load is shared with other callers, so it must not be interrupted
+        assertEquals(SLOW, typeCache.get(SLOW).getIdentifier());
+        assertEquals(1, STUB_REGISTRY.requestsFor(SLOW));
+    }
+
+    @Test
+    void unknownTypesAreNotFound() {
+        assertThrows(TypeNotFoundException.class, () -> typeRegistry.queryTypeDefinition(MISSING));
+        assertThrows(TypeNotFoundException.class, () -> typeRegistry.queryTypeDefinition(MALFORMED));
+    }
+
+    @Test
+    void cacheAndClientAreMonitored() throws IOException {
+        typeRegistry.queryTypeDefinitions(List.of(TYPE));
+
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "typeDefinitions").functionCounter());
+        assertNotNull(meterRegistry.find("pit.typeregistry.cache.load").timer());
+        assertNotNull(meterRegistry.find("pit.typeregistry.cache.removals").tag("cause", "EXPIRED").counter());
+        assertEquals(0, meterRegistry.get("pit.typeregistry.requests.active").gauge().value());
+    }
+
+    @Test
+    void cyclicTypesAreResolved() throws Exception {
+        TypeDefinition a = typeCache.get(CYCLE_A);
+
+        TypeDefinition b = a.getSubTypes().get(CYCLE_B);
+        assertSame(a, b.getSubTypes().get(CYCLE_A));
+        assertSame(b, typeCache.getIfPresent(CYCLE_B));
+        assertEquals(1, STUB_REGISTRY.requestsFor(CYCLE_A));
+        assertEquals(1, STUB_REGISTRY.requestsFor(CYCLE_B));
+    }
+
+    @Test
+    void sharedSubTypesAreResolvedOnce() throws Exception {
+        TypeDefinition diamond = typeCache.get(DIAMOND);
+
+        TypeDefinition left = diamond.getSubTypes().get(DIAMOND_LEFT);
+        TypeDefinition right = diamond.getSubTypes().get(DIAMOND_RIGHT);
+        assertSame(left.getSubTypes().get(DIAMOND_BOTTOM), right.getSubTypes().get(DIAMOND_BOTTOM));
+        assertEquals(1, STUB_REGISTRY.requestsFor(DIAMOND_BOTTOM));
+    }
+
+    @Test
+    void profilesBindSharedSubTypesIndependently() throws Exception {
+        TypeDefinition mandatoryUse = typeCache.get(MANDATORY_USE);
+        TypeDefinition optionalUse = typeCache.get(OPTIONAL_USE);
+
+        assertFalse(mandatoryUse.isOptional(SHARED_ATTRIBUTE));
+        assertTrue(optionalUse.isOptional(SHARED_ATTRIBUTE));
+        assertSame(
+                mandatoryUse.getProperty(SHARED_ATTRIBUTE).getType(),
+                optionalUse.getProperty(SHARED_ATTRIBUTE).getType());
+    }
+
+    static String profileWithObligation(String identifier, String subType, String obligation) {
+        return "{\"identifier\": \"" + identifier + "\", \"name\": \"" + identifier + "\", \"properties\": [{"
+                + "\"name\": \"attribute\", \"identifier\": \"" + subType + "\", "
+                + "\"representationsAndSemantics\": [{\"obligation\": \"" + obligation + "\", \"repeatable\": \"No\"}]"
+                + "}]}";
+    }
+
+    static String profile(String identifier, String... subTypes) {
+        StringBuilder properties = new StringBuilder();
+        for (String subType : subTypes) {
+            if (properties.length() > 0) {
+                properties.append(", ");
+            }
+            properties.append("{\"name\": \"").append(subType).append("\", \"identifier\": \"").append(subType)
+                    .append("\"}");
+        }
+        return "{\"identifier\": \"" + identifier + "\", \"name\": \"" + identifier + "\", \"properties\": ["
+                + properties + "]}";
+    }
+}
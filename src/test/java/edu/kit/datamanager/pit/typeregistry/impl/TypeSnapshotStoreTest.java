@@ -0,0 +1,108 @@
+package edu.kit.datamanager.pit.typeregistry.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.kit.datamanager.pit.typeregistry.impl.TypeSnapshotStore.Snapshot;
+
+class TypeSnapshotStoreTest {
+
+    static final String TYPE = "21.T11148/076759916209e5d62bd5";
+
+    @TempDir
+    Path directory;
+
+    ObjectMapper mapper = new ObjectMapper();
+
+    Snapshot snapshot(String name, String lastModificationDate) throws IOException {
+        return new Snapshot(typeJson(name, lastModificationDate));
+    }
+
+    JsonNode typeJson(String name, String lastModificationDate) throws IOException {
+        return mapper.readTree("{\"identifier\": \"" + TYPE + "\", \"name\": \"" + name
+                + "\", \"provenance\": {\"lastModificationDate\": \"" + lastModificationDate + "\"}}");
+    }
+
+    @Test
+    void disabledStoreDoesNothing() throws IOException {
+        TypeSnapshotStore store = new TypeSnapshotStore(null);
+        assertFalse(store.isEnabled());
+        store.store(TYPE, snapshot("a", "2023-01-01T00:00:00.000Z"));
+        assertTrue(store.beginWarmStart().isEmpty());
+        assertTrue(store.takeForWarmStart(TYPE).isEmpty());
+    }
+
+    @Test
+    void snapshotIsUsedOnceForWarmStart() throws IOException {
+        JsonNode json = typeJson("a", "2023-01-01T00:00:00.000Z");
+        new TypeSnapshotStore(directory).store(TYPE, new Snapshot(json));
+
+        TypeSnapshotStore restarted = new TypeSnapshotStore(directory);
+        assertTrue(restarted.takeForWarmStart(TYPE).isEmpty());
+        assertEquals(Set.of(TYPE), restarted.beginWarmStart());
+        assertEquals(json, restarted.takeForWarmStart(TYPE).get().content());
+        assertTrue(restarted.takeForWarmStart(TYPE).isEmpty());
+    }
+
+    @Test
+    void endingWarmStartIgnoresSnapshots() throws IOException {
+        TypeSnapshotStore store = new TypeSnapshotStore(directory);
+        store.store(TYPE, snapshot("a", "2023-01-01T00:00:00.000Z"));
+        store.beginWarmStart();
+        store.endWarmStart();
+        assertTrue(store.takeForWarmStart(TYPE).isEmpty());
+    }
+
+    @Test
+    void unmodifiedTypeIsNotRewritten() throws IOException {
+        TypeSnapshotStore store = new TypeSnapshotStore(directory);
+        store.store(TYPE, snapshot("a", "2023-01-01T00:00:00.000Z"));
+        store.store(TYPE, snapshot("b", "2023-01-01T00:00:00.000Z"));
+        store.beginWarmStart();
+        assertEquals("a", store.takeForWarmStart(TYPE).get().content().get("name").asText());
+
+        store.store(TYPE, snapshot("c", "2024-01-01T00:00:00.000Z"));
+        store.beginWarmStart();
+        assertEquals("c", store.takeForWarmStart(TYPE).get().content().get("name").asText());
+    }
+
+    @Test
+    void validatorsAreStoredWithSnapshot() throws IOException {
+        TypeSnapshotStore store = new TypeSnapshotStore(directory);
+        store.store(TYPE, snapshot("a", "2023-01-01T00:00:00.000Z"));
+        JsonNode json = typeJson("a", "2023-01-01T00:00:00.000Z");
+        store.store(TYPE, new Snapshot(json, "\"v1\"", "Sun, 01 Jan 2023 00:00:00 GMT"));
+        // a snapshot without validators does not replace one with validators
+        store.store(TYPE, snapshot("b", "2023-01-01T00:00:00.000Z"));
+
+        TypeSnapshotStore restarted = new TypeSnapshotStore(directory);
+        restarted.beginWarmStart();
+        assertEquals(new Snapshot(json, "\"v1\"", "Sun, 01 Jan 2023 00:00:00 GMT"),
+                restarted.takeForWarmStart(TYPE).get());
+    }
+
+    @Test
+    void readsSnapshotsWithoutValidators() throws IOException {
+        JsonNode json = typeJson("a", "2023-01-01T00:00:00.000Z");
+        mapper.writeValue(directory.resolve(URLEncoder.encode(TYPE, StandardCharsets.UTF_8) + ".json").toFile(), json);
+
+        TypeSnapshotStore store = new TypeSnapshotStore(directory);
+        store.beginWarmStart();
+        Snapshot snapshot = store.takeForWarmStart(TYPE).get();
+        assertEquals(json, snapshot.content());
+        assertFalse(snapshot.hasValidators());
+    }
+}
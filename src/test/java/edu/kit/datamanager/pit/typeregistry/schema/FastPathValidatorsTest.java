@@ -0,0 +1,94 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+
+class FastPathValidatorsTest {
+
+    static final String HANDLE = "{\"type\": \"string\", \"pattern\": \"^([0-9,A-Z,a-z])+(\\\\.([0-9,A-Z,a-z])+)*\\\\/([!-~])+$\"}";
+    static final String DATE = "{\"$schema\": \"http://json-schema.org/draft-04/schema#\", \"type\": \"string\", \"format\": \"date-time\"}";
+    static final String ENUM = "{\"type\": \"string\", \"enum\": [\"MD5\", \"SHA-256\"]}";
+    static final String LENGTH = "{\"type\": \"string\", \"minLength\": 2, \"maxLength\": 4}";
+    static final String UNANCHORED = "{\"pattern\": \"[0-9]\"}";
+
+    static final List<String> VALUES = List.of(
+            "", "21.T11148/076759916209e5d62bd5", "not a handle", "21.T11148/",
+            "2021-12-21T17:36:09.541+00:00", "2021-12-21T17:36:09Z", "2021-12-21T17:36Z",
+            "2021-02-30T17:36:09Z", "2021-02-32T17:36:09Z", "2021-13-01T17:36:09Z",
+            "2021-12-21T25:36:09Z", "2021-12-21 17:36:09Z", "2021-12-21T17:36:09.1234567890Z",
+            "MD5", "md5", "SHA-256", "ab", "abcd", "abcde", "😀😀", "x1y");
+
+    @ParameterizedTest
+    @ValueSource(strings = {HANDLE, DATE, ENUM, LENGTH, UNANCHORED})
+    void behavesLikeGenericEngine(String schemaSource) {
+        Schema schema = SchemaLoader.load(new JSONObject(schemaSource));
+        ValueValidator validator = FastPathValidators.compile(schemaSource).orElseThrow();
+        for (String value : VALUES) {
+            assertEquals(isValid(schema, value), validator.isValid(value), value);
+        }
+    }
+
+    @Test
+    void acceptsClampedDatesLikeGenericEngine() {
+        Schema schema = SchemaLoader.load(new JSONObject(DATE));
+        ValueValidator validator = FastPathValidators.compile(DATE).orElseThrow();
+        for (String value : List.of("2021-02-29T17:36:09Z", "2021-02-30T17:36:09Z", "2021-04-31T17:36:09Z")) {
+            assertTrue(isValid(schema, value), value);
+            assertTrue(validator.isValid(value), value);
+        }
+        assertFalse(isValid(schema, "2021-02-32T17:36:09Z"));
+        assertFalse(validator.isValid("2021-02-32T17:36:09Z"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{\"type\": \"object\", \"properties\": {\"a\": {\"type\": \"string\"}}}",
+        "{\"type\": \"string\", \"format\": \"uri\"}",
+        "{\"enum\": [1, 2]}",
+        "{\"anyOf\": [{\"type\": \"string\"}]}",
+        "{not json"
+    })
+    void leavesOtherSchemasToGenericEngine(String schemaSource) {
+        assertTrue(FastPathValidators.compile(schemaSource).isEmpty());
+    }
+
+    @Test
+    void typeDefinitionsUseFastPath() {
+        SchemaCompiler compiler = new SchemaCompiler(
+                new EveritSchemaEngine(new SchemaPool()), new ValidationMemo(1000), new ValidationProfiler());
+        TypeDefinition simple = TypeDefinition.builder().schema(compiler.compile(DATE)).build();
+        assertTrue(simple.getSchema().hasValueValidator());
+        assertTrue(simple.validate("2021-12-21T17:36:09Z"));
+        assertFalse(simple.validate("yesterday"));
+        // objects are still validated by the generic engine
+        assertFalse(simple.validate("{\"date\": \"2021-12-21T17:36:09Z\"}"));
+
+        TypeDefinition complex = TypeDefinition.builder()
+                .schema(compiler.compile("{\"type\": \"object\", \"required\": [\"a\"]}"))
+                .build();
+        assertFalse(complex.getSchema().hasValueValidator());
+        assertTrue(complex.validate("{\"a\": 1}"));
+    }
+
+    private static boolean isValid(Schema schema, String value) {
+        try {
+            schema.validate(value);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+}
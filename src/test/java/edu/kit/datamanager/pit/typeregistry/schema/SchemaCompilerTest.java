@@ -0,0 +1,72 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SchemaCompilerTest {
+
+    static final String DATE = "{\"type\": \"string\", \"format\": \"date-time\"}";
+    static final String CHECKSUM = "{\"type\": \"object\", \"properties\": {\"sha256sum\": {\"type\": \"string\"}}, "
+            + "\"required\": [\"sha256sum\"]}";
+
+    /**
+     * Counts the schemas compiled by the wrapped engine.
+     */
+    static class CountingEngine implements SchemaEngine {
+        final SchemaEngine engine = new NetworkntSchemaEngine(new SchemaPool());
+        final AtomicInteger compiled = new AtomicInteger();
+
+        @Override
+        public String name() {
+            return engine.name();
+        }
+
+        @Override
+        public ValueValidator compile(String schemaSource) {
+            compiled.incrementAndGet();
+            return engine.compile(schemaSource);
+        }
+
+        @Override
+        public DocumentValidator compileDocument(String schemaSource) {
+            compiled.incrementAndGet();
+            return engine.compileDocument(schemaSource);
+        }
+    }
+
+    CountingEngine engine = new CountingEngine();
+    SchemaCompiler compiler = new SchemaCompiler(engine, new ValidationMemo(1000), new ValidationProfiler());
+
+    @Test
+    void compilesWithSelectedEngineOnce() {
+        TypeSchema schema = compiler.compile(CHECKSUM);
+        assertEquals(1, engine.compiled.get());
+        assertTrue(schema.validate("21.T11148/checksum", "{\"sha256sum\": \"abc\"}"));
+        assertFalse(schema.validate("21.T11148/checksum", "{\"md5sum\": \"abc\"}"));
+        assertEquals(1, engine.compiled.get());
+    }
+
+    @Test
+    void compilesSimpleSchemasOnlyWhenObjectsAreValidated() {
+        TypeSchema schema = compiler.compile(DATE);
+        assertTrue(schema.hasValueValidator());
+        assertTrue(schema.validate("21.T11148/date", "2021-12-21T17:36:09Z"));
+        assertFalse(schema.validate("21.T11148/date", "yesterday"));
+        assertEquals(0, engine.compiled.get());
+
+        assertFalse(schema.validate("21.T11148/date", "{\"date\": \"2021-12-21T17:36:09Z\"}"));
+        assertEquals(1, engine.compiled.get());
+    }
+
+    @Test
+    void schemasWithEqualSourcesAreEqual() {
+        TypeSchema first = compiler.compile(DATE);
+        assertEquals(first, compiler.compile(new String(DATE)));
+        assertEquals(SchemaPool.versionOf(DATE), first.getVersion());
+    }
+}
@@ -0,0 +1,69 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SchemaEnginesTest {
+
+    /**
+     * A schema like the data type registry generates it for basic types.
+     */
+    static final String HANDLE = "{\"definitions\": {\"21.T11148_3626040cadcac1571685\": {\"pattern\": "
+            + "\"^([0-9,A-Z,a-z])+(\\\\.([0-9,A-Z,a-z])+)*\\\\/([!-~])+$\", \"type\": \"string\"}}, "
+            + "\"$schema\": \"http://json-schema.org/draft-04/schema#\", "
+            + "\"$ref\": \"#/definitions/21.T11148_3626040cadcac1571685\"}";
+    static final String DATE = "{\"type\": \"string\", \"format\": \"date-time\"}";
+    static final String CHECKSUM = "{\"type\": \"object\", \"properties\": {\"sha256sum\": {\"type\": \"string\", "
+            + "\"pattern\": \"^sha256 [0-9a-f]{64}$\"}}, \"required\": [\"sha256sum\"], \"additionalProperties\": false}";
+
+    static final Map<String, Map<String, Boolean>> EXPECTED = Map.of(
+            HANDLE, Map.of(
+                    "21.T11148/076759916209e5d62bd5", true,
+                    "no handle", false),
+            DATE, Map.of(
+                    "2021-12-21T17:36:09.541+00:00", true,
+                    "yesterday", false),
+            CHECKSUM, Map.of(
+                    "{\"sha256sum\": \"sha256 c50624fd5ddd2b9652b72e2d2eabcb31a54b777718ab6fb7e44b582c20239a7c\"}", true,
+                    "{\"sha256sum\": \"md5 abc\"}", false,
+                    "{\"md5sum\": \"abc\"}", false,
+                    "not an object", false));
+
+    @ParameterizedTest
+    @ValueSource(strings = {EveritSchemaEngine.NAME, NetworkntSchemaEngine.NAME})
+    void enginesAgreeOnRegistrySchemas(String engineName) {
+        SchemaEngine engine = SchemaEngines.create(engineName, new SchemaPool());
+        assertEquals(engineName, engine.name());
+        EXPECTED.forEach((schema, values) -> {
+            ValueValidator validator = engine.compile(schema);
+            values.forEach((value, valid) -> assertEquals(valid, validator.isValid(value), value));
+        });
+    }
+
+    @Test
+    void networkntSharesCompiledSchemas() {
+        SchemaEngine engine = new NetworkntSchemaEngine(new SchemaPool());
+        ValueValidator first = engine.compile(DATE);
+        assertEquals(first, engine.compile(new String(DATE)));
+    }
+
+    @Test
+    void networkntRejectsMalformedObjects() {
+        ValueValidator validator = new NetworkntSchemaEngine(new SchemaPool()).compile(CHECKSUM);
+        assertFalse(validator.isValid("{not json"));
+    }
+
+    @Test
+    void unknownEngineIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SchemaEngines.create("unknown", new SchemaPool()));
+        assertTrue(SchemaEngines.create("Everit", new SchemaPool()) instanceof EveritSchemaEngine);
+    }
+}
@@ -0,0 +1,65 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.everit.json.schema.Schema;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SchemaPoolTest {
+
+    static final String DATE_SCHEMA = "{\"type\": \"string\", \"format\": \"date-time\"}";
+    static final String URL_SCHEMA = "{\"type\": \"string\", \"format\": \"uri\"}";
+
+    @Test
+    void identicalSchemasAreShared() {
+        SchemaPool pool = new SchemaPool();
+        Schema first = pool.get(DATE_SCHEMA);
+        Schema second = pool.get(new String(DATE_SCHEMA));
+        assertSame(first, second);
+        assertNotSame(first, pool.get(URL_SCHEMA));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    void everitEngineSharesSchemasInPool() {
+        SchemaPool pool = new SchemaPool();
+        SchemaEngine engine = new EveritSchemaEngine(pool);
+        ValueValidator created = engine.compile(DATE_SCHEMA);
+        ValueValidator modified = engine.compile(new String(DATE_SCHEMA));
+        DocumentValidator document = engine.compileDocument(DATE_SCHEMA);
+        assertEquals(1, pool.size());
+        assertTrue(created.isValid("2021-12-21T17:36:09Z"));
+        assertTrue(modified.isValid("2021-12-21T17:36:09Z"));
+        assertNotNull(document);
+    }
+
+    @Test
+    void invalidSchemaIsReported() {
+        SchemaPool pool = new SchemaPool();
+        assertThrows(JSONException.class, () -> pool.get("{not json"));
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    void reportsMetrics() {
+        SchemaPool pool = new SchemaPool();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pool.bindTo(registry);
+        pool.get(DATE_SCHEMA);
+        pool.get(DATE_SCHEMA);
+
+        assertEquals(1, registry.get("cache.size").tag("cache", "jsonSchemas").gauge().value());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "jsonSchemas", "result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "jsonSchemas", "result", "hit").functionCounter().count());
+        assertEquals(DATE_SCHEMA.length(), registry.get("pit.typeregistry.schemas.source.size").gauge().value());
+        assertTrue(registry.get("pit.typeregistry.schemas.compile.cpu").functionCounter().count() >= 0);
+    }
+}
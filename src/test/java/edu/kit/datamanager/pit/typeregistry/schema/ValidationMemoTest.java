@@ -0,0 +1,71 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ValidationMemoTest {
+
+    static final String TYPE = "21.T11148/type";
+    static final String OTHER_TYPE = "21.T11148/other";
+
+    AtomicInteger validations = new AtomicInteger();
+    Predicate<String> isNumber = value -> {
+        validations.incrementAndGet();
+        return value.matches("[0-9]+");
+    };
+
+    @Test
+    void remembersOutcomes() {
+        ValidationMemo memo = new ValidationMemo(100);
+        assertTrue(memo.validate(TYPE, "v1", "42", isNumber));
+        assertTrue(memo.validate(TYPE, "v1", "42", isNumber));
+        assertFalse(memo.validate(TYPE, "v1", "text", isNumber));
+        assertFalse(memo.validate(TYPE, "v1", "text", isNumber));
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    void distinguishesTypesAndSchemaVersions() {
+        ValidationMemo memo = new ValidationMemo(100);
+        memo.validate(TYPE, "v1", "42", isNumber);
+        memo.validate(TYPE, "v2", "42", isNumber);
+        memo.validate(OTHER_TYPE, "v1", "42", isNumber);
+        assertEquals(3, validations.get());
+    }
+
+    @Test
+    void isBounded() {
+        ValidationMemo memo = new ValidationMemo(10);
+        for (int i = 0; i < 100; i++) {
+            memo.validate(TYPE, "v1", String.valueOf(i), isNumber);
+        }
+        assertTrue(memo.size() <= 10);
+    }
+
+    @Test
+    void canBeDisabled() {
+        ValidationMemo memo = new ValidationMemo(0);
+        memo.validate(TYPE, "v1", "42", isNumber);
+        memo.validate(TYPE, "v1", "42", isNumber);
+        assertEquals(2, validations.get());
+        assertEquals(0, memo.size());
+    }
+
+    @Test
+    void reportsMetrics() {
+        ValidationMemo memo = new ValidationMemo(100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        memo.bindTo(registry);
+        memo.validate(TYPE, "v1", "42", isNumber);
+        memo.validate(TYPE, "v1", "42", isNumber);
+        assertEquals(1, registry.get("cache.gets").tags("cache", "validationResults", "result", "hit").functionCounter().count());
+    }
+}
@@ -0,0 +1,68 @@
+package edu.kit.datamanager.pit.typeregistry.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.kit.datamanager.pit.domain.TypeDefinition;
+
+class ValidationProfilerTest {
+
+    ValidationProfiler profiler = new ValidationProfiler();
+
+    @Test
+    void countsInvocationsAndFailures() {
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            long start = profiler.start();
+            profiler.recordType("21.T11148/type", start, i % 10 != 0);
+        });
+        List<ValidationProfiler.Entry> types = profiler.types();
+        assertEquals(1, types.size());
+        assertEquals(1000, types.get(0).invocations());
+        assertEquals(100, types.get(0).failures());
+        assertTrue(profiler.profiles().isEmpty());
+    }
+
+    @Test
+    void sortsByTotalTime() throws InterruptedException {
+        long start = profiler.start();
+        profiler.recordProfile("21.T11148/fast", start, true);
+        start = profiler.start();
+        Thread.sleep(5);
+        profiler.recordProfile("21.T11148/slow", start, false);
+        List<ValidationProfiler.Entry> profiles = profiler.profiles();
+        assertEquals("21.T11148/slow", profiles.get(0).identifier());
+        assertTrue(profiles.get(0).totalMillis() >= 5);
+        assertEquals(1, profiles.get(0).failures());
+    }
+
+    @Test
+    void disabledProfilerRecordsNothing() {
+        profiler.setEnabled(false);
+        profiler.recordType("21.T11148/type", profiler.start(), true);
+        profiler.recordType(null, System.nanoTime(), true);
+        assertTrue(profiler.types().isEmpty());
+    }
+
+    @Test
+    void typeDefinitionsAreProfiled() {
+        SchemaCompiler compiler = new SchemaCompiler(
+                new EveritSchemaEngine(new SchemaPool()), new ValidationMemo(1000), profiler);
+        TypeDefinition type = TypeDefinition.builder()
+                .identifier("21.T11148/profiledType")
+                .schema(compiler.compile("{\"type\": \"string\", \"pattern\": \"^[0-9]+$\"}"))
+                .build();
+        type.validate("42");
+        type.validate("text");
+        ValidationProfiler.Entry entry = profiler.types().stream()
+                .filter(e -> e.identifier().equals(type.getIdentifier()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, entry.invocations());
+        assertEquals(1, entry.failures());
+    }
+}
@@ -0,0 +1,122 @@
+package edu.kit.datamanager.pit.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.kit.datamanager.pit.configuration.ApplicationProperties;
+import edu.kit.datamanager.pit.pidlog.KnownPidsDao;
+import edu.kit.datamanager.pit.pitservice.ITypingService;
+import edu.kit.datamanager.pit.pitservice.impl.NoValidationStrategy;
+
+/**
+ * Tests the batch validation endpoint. Records without a profile are used, so
+ * that no type registry is required.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@TestPropertySource("/test/application-test.properties")
+@ActiveProfiles("test")
+class BatchValidationTest {
+
+    static final String URL = "/api/v1/pit/pids/validation";
+    static final String RECORD = "{\"pid\": \"%s\", \"entries\": {\"21.T11148/key\": [{\"key\": \"21.T11148/key\", \"value\": \"value\"}]}}";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ITypingService typingService;
+
+    @Autowired
+    private ApplicationProperties appProps;
+
+    @Autowired
+    private KnownPidsDao knownPidsDao;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(this.webApplicationContext).build();
+        this.knownPidsDao.deleteAll();
+        this.typingService.setValidationStrategy(this.appProps.defaultValidationStrategy());
+    }
+
+    private List<JsonNode> validate(MediaType contentType, String body) throws Exception {
+        MvcResult started = this.mockMvc
+                .perform(post(URL).contentType(contentType).content(body))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        String response = this.mockMvc
+                .perform(asyncDispatch(started))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            results.add(mapper.readTree(line));
+        }
+        return results;
+    }
+
+    @Test
+    void validatesArrayInOrder() throws Exception {
+        this.typingService.setValidationStrategy(new NoValidationStrategy());
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            body.append(i == 0 ? "" : ",").append(RECORD.formatted("pid-" + i));
+        }
+        List<JsonNode> results = validate(MediaType.APPLICATION_JSON, body.append("]").toString());
+        assertEquals(50, results.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, results.get(i).get("index").asInt());
+            assertEquals("pid-" + i, results.get(i).get("pid").asText());
+            assertTrue(results.get(i).get("valid").asBoolean());
+        }
+        assertEquals(0, this.knownPidsDao.count());
+    }
+
+    @Test
+    void invalidRecordsDoNotAbortBatch() throws Exception {
+        String body = RECORD.formatted("first") + "\n"
+                + "not json\n"
+                + "\n"
+                + RECORD.formatted("third") + "\n";
+        List<JsonNode> results = validate(MediaType.APPLICATION_NDJSON, body);
+        assertEquals(3, results.size());
+        for (JsonNode result : results) {
+            assertFalse(result.get("valid").asBoolean());
+            assertEquals(400, result.get("status").asInt());
+        }
+        assertTrue(results.get(0).get("message").asText().contains("Profile attribute not found"));
+        assertTrue(results.get(1).get("message").asText().contains("Could not read record"));
+        assertEquals("third", results.get(2).get("pid").asText());
+    }
+}